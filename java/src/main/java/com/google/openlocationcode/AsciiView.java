@@ -0,0 +1,68 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable character sequence view of a range of ASCII bytes in a buffer, so that lines can be
+ * parsed without creating strings. The view reads the buffer on each access, so the buffer must not
+ * change while the view is in use. Instances are not thread-safe.
+ */
+public final class AsciiView implements CharSequence {
+
+  private ByteBuffer buffer;
+  private int start;
+  private int end;
+
+  /**
+   * Points the view at a range of a buffer.
+   *
+   * @param buffer The buffer to read.
+   * @param start The position of the first byte.
+   * @param end The position after the last byte.
+   * @return This view.
+   */
+  public AsciiView set(ByteBuffer buffer, int start, int end) {
+    this.buffer = buffer;
+    this.start = start;
+    this.end = end;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return (char) (buffer.get(start + index) & 0xff);
+  }
+
+  @Override
+  public CharSequence subSequence(int from, int to) {
+    return new AsciiView().set(buffer, start + from, start + to);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = charAt(i);
+    }
+    return new String(chars);
+  }
+}
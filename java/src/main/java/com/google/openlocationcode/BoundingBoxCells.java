@@ -0,0 +1,360 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the packed codes (see {@link PackedCode}) of all cells of a code length that
+ * intersect a bounding box.
+ *
+ * <p>The box is converted to the integer grid used for encoding, so the cells are exactly those
+ * that {@link OpenLocationCode#encode} returns for points in the box. The southern and western
+ * edges are inclusive, and the northern and eastern edges exclusive, unless the box has no height
+ * or width, in which case it covers the cells containing its edge. Latitudes are clipped to the
+ * poles. If the western edge is east of the eastern edge, the box crosses the antimeridian.
+ *
+ * <p>Cells are returned row by row from south to north, and from west to east within a row. The
+ * iterator does not allocate memory after it is created.
+ *
+ * <p>For large areas, {@link #stream} returns the cells as a stream that splits the area along the
+ * boundaries of shorter codes, so that parallel processing scales across cores and each part holds
+ * whole parent cells where possible.
+ */
+public final class BoundingBoxCells implements PrimitiveIterator.OfLong {
+
+  private final int codeLength;
+  // The first and last rows, the first column and the number of columns of the cells.
+  final long southRow;
+  final long northRow;
+  final long westColumn;
+  final long columnCount;
+  // Number of columns in the grid.
+  private final long gridColumns;
+
+  // The row and column offset of the next cell.
+  private long row;
+  private long column;
+
+  /**
+   * Creates an iterator over the cells intersecting a bounding box.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @throws IllegalArgumentException if the box or code length is not valid.
+   */
+  public BoundingBoxCells(double south, double west, double north, double east, int codeLength) {
+    if (!(south <= north) || Double.isNaN(west) || Double.isNaN(east)) {
+      throw new IllegalArgumentException(
+          "Invalid bounding box " + south + ", " + west + ", " + north + ", " + east);
+    }
+    this.codeLength = PackedCode.checkLength(codeLength);
+    long latRange = PackedCode.LAT_INTEGER_RANGE;
+    long latSize = PackedCode.latitudeCellSize(codeLength);
+    long southInteger = OpenLocationCode.latitudeToInteger(south);
+    long northInteger =
+        (long) Math.ceil(north * OpenLocationCode.LAT_INTEGER_MULTIPLIER) + latRange / 2;
+    northInteger = Math.max(southInteger + 1, Math.min(latRange, northInteger));
+    this.southRow = southInteger / latSize;
+    this.northRow = (northInteger - 1) / latSize;
+
+    long lngRange = PackedCode.LNG_INTEGER_RANGE;
+    long lngSize = PackedCode.longitudeCellSize(codeLength);
+    this.gridColumns = PackedCode.longitudeCells(codeLength);
+    long westInteger = (long) Math.floor(west * OpenLocationCode.LNG_INTEGER_MULTIPLIER);
+    long eastInteger = (long) Math.ceil(east * OpenLocationCode.LNG_INTEGER_MULTIPLIER);
+    if (east - west >= 2 * OpenLocationCode.LONGITUDE_MAX) {
+      eastInteger = westInteger + lngRange;
+    } else if (east < west) {
+      // The box crosses the antimeridian.
+      eastInteger += lngRange;
+    }
+    eastInteger = Math.max(westInteger + 1, eastInteger);
+    long westIndex = Math.floorDiv(westInteger, lngSize);
+    this.columnCount =
+        Math.min(gridColumns, Math.floorDiv(eastInteger - 1, lngSize) - westIndex + 1);
+    this.westColumn = Math.floorMod(westIndex + gridColumns / 2, gridColumns);
+    this.row = southRow;
+  }
+
+  /**
+   * Calls an action with the packed code of each cell intersecting a bounding box.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @param action Called with each packed code.
+   * @throws IllegalArgumentException if the box or code length is not valid.
+   */
+  public static void forEach(
+      double south, double west, double north, double east, int codeLength, LongConsumer action) {
+    new BoundingBoxCells(south, west, north, east, codeLength).forEachRemaining(action);
+  }
+
+  /**
+   * Returns a spliterator over the cells intersecting a bounding box. The spliterator splits the
+   * box into parts that are aligned to the cells of shorter codes, and it reports its exact size.
+   * The cells are not returned in a defined order.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @return The spliterator over the packed codes.
+   * @throws IllegalArgumentException if the box or code length is not valid.
+   */
+  public static Spliterator.OfLong spliterator(
+      double south, double west, double north, double east, int codeLength) {
+    BoundingBoxCells cells = new BoundingBoxCells(south, west, north, east, codeLength);
+    return new CellSpliterator(cells, cells.southRow, cells.northRow + 1, 0, cells.columnCount);
+  }
+
+  /**
+   * Returns a stream of the cells intersecting a bounding box. The stream is sequential, use {@link
+   * LongStream#parallel()} to process it in parallel. The cells are not returned in a defined
+   * order.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @return The stream of packed codes.
+   * @throws IllegalArgumentException if the box or code length is not valid.
+   */
+  public static LongStream stream(
+      double south, double west, double north, double east, int codeLength) {
+    return StreamSupport.longStream(spliterator(south, west, north, east, codeLength), false);
+  }
+
+  /** Returns the total number of cells intersecting the box. */
+  public long size() {
+    return (northRow - southRow + 1) * columnCount;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return row <= northRow;
+  }
+
+  @Override
+  public long nextLong() {
+    if (row > northRow) {
+      throw new NoSuchElementException();
+    }
+    long packed = cell(row, column);
+    if (++column == columnCount) {
+      column = 0;
+      row++;
+    }
+    return packed;
+  }
+
+  @Override
+  public void forEachRemaining(LongConsumer action) {
+    for (; row <= northRow; row++) {
+      for (; column < columnCount; column++) {
+        action.accept(cell(row, column));
+      }
+      column = 0;
+    }
+  }
+
+  /** Returns whether a cell of the code length of the iterator is one of its cells. */
+  boolean containsCell(long packed) {
+    long row = PackedCode.latitudeIndex(packed);
+    long columnOffset = Math.floorMod(PackedCode.longitudeIndex(packed) - westColumn, gridColumns);
+    return row >= southRow && row <= northRow && columnOffset < columnCount;
+  }
+
+  /** Returns the packed code of the cell in a row at a column offset from the western column. */
+  long cell(long row, long columnOffset) {
+    long lngIndex = westColumn + columnOffset;
+    if (lngIndex >= gridColumns) {
+      lngIndex -= gridColumns;
+    }
+    return PackedCode.fromIndices(row, lngIndex, codeLength);
+  }
+
+  /**
+   * Returns the number of rows or columns of this code length in the cells of each code length up
+   * to this one, from the shortest.
+   */
+  private long[] strides(boolean rows) {
+    long[] strides = new long[PackedCode.levels(codeLength)];
+    long gridCells = rows ? PackedCode.latitudeCells(codeLength) : gridColumns;
+    int count = 0;
+    for (int length = OpenLocationCode.MIN_DIGIT_COUNT; length <= codeLength; length++) {
+      if (length < OpenLocationCode.PAIR_CODE_LENGTH && length % 2 == 1) {
+        continue;
+      }
+      strides[count++] =
+          gridCells / (rows ? PackedCode.latitudeCells(length) : PackedCode.longitudeCells(length));
+    }
+    return strides;
+  }
+
+  /**
+   * Splits the cells intersecting a box into rectangles of rows and columns. Splits are made on the
+   * boundaries of the shortest possible codes, so that parts contain whole parent cells.
+   */
+  private static final class CellSpliterator implements Spliterator.OfLong {
+
+    private final BoundingBoxCells cells;
+    private final long[] rowStrides;
+    private final long[] columnStrides;
+    // The rows and column offsets of the rectangle, with exclusive ends.
+    private long rowStart;
+    private final long rowEnd;
+    private long columnStart;
+    private final long columnEnd;
+    // The next cell.
+    private long row;
+    private long column;
+
+    CellSpliterator(
+        BoundingBoxCells cells, long rowStart, long rowEnd, long columnStart, long columnEnd) {
+      this(
+          cells,
+          cells.strides(true),
+          cells.strides(false),
+          rowStart,
+          rowEnd,
+          columnStart,
+          columnEnd);
+    }
+
+    private CellSpliterator(
+        BoundingBoxCells cells,
+        long[] rowStrides,
+        long[] columnStrides,
+        long rowStart,
+        long rowEnd,
+        long columnStart,
+        long columnEnd) {
+      this.cells = cells;
+      this.rowStrides = rowStrides;
+      this.columnStrides = columnStrides;
+      this.rowStart = rowStart;
+      this.rowEnd = rowEnd;
+      this.columnStart = columnStart;
+      this.columnEnd = columnEnd;
+      this.row = rowStart;
+      this.column = columnStart;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      if (row >= rowEnd) {
+        return false;
+      }
+      action.accept(cells.cell(row, column));
+      if (++column == columnEnd) {
+        column = columnStart;
+        row++;
+      }
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      for (; row < rowEnd; row++) {
+        for (; column < columnEnd; column++) {
+          action.accept(cells.cell(row, column));
+        }
+        column = columnStart;
+      }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+      if (row != rowStart || column != columnStart) {
+        // Only split before traversal starts, when the remaining cells are a rectangle.
+        return null;
+      }
+      long rows = rowEnd - rowStart;
+      long columns = columnEnd - columnStart;
+      if (rows >= columns) {
+        long split = alignedSplit(rowStart, rowEnd, 0, rowStrides);
+        if (split < 0) {
+          return null;
+        }
+        Spliterator.OfLong prefix = part(rowStart, split, columnStart, columnEnd);
+        rowStart = split;
+        row = split;
+        return prefix;
+      }
+      long split = alignedSplit(columnStart, columnEnd, cells.westColumn, columnStrides);
+      if (split < 0) {
+        return null;
+      }
+      Spliterator.OfLong prefix = part(rowStart, rowEnd, columnStart, split);
+      columnStart = split;
+      column = split;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      if (row >= rowEnd) {
+        return 0;
+      }
+      return (rowEnd - row - 1) * (columnEnd - columnStart) + columnEnd - column;
+    }
+
+    @Override
+    public int characteristics() {
+      return SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    private CellSpliterator part(long rowStart, long rowEnd, long columnStart, long columnEnd) {
+      return new CellSpliterator(
+          cells, rowStrides, columnStrides, rowStart, rowEnd, columnStart, columnEnd);
+    }
+
+    /**
+     * Returns the position strictly inside a range nearest to its middle that is on a boundary of
+     * the cells of the shortest possible code.
+     *
+     * @param start The start of the range.
+     * @param end The end of the range, exclusive.
+     * @param offset The grid row or column of position 0.
+     * @param strides The number of rows or columns in the cells of each shorter code, from the
+     *     shortest.
+     * @return The split position, or -1 if the range has only one row or column.
+     */
+    private static long alignedSplit(long start, long end, long offset, long[] strides) {
+      long middle = offset + (start + end) / 2;
+      for (long stride : strides) {
+        long split = Math.floorDiv(middle + stride / 2, stride) * stride - offset;
+        if (split > start && split < end) {
+          return split;
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,206 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent map of counts by packed code, for many threads counting events in cells.
+ *
+ * <p>Cells are stored by open addressing with linear probing in an array of packed codes, and a
+ * thread claims a free slot for a new cell with a compare-and-set, so adding never takes a lock.
+ * Packed codes are never {@link PackedCode#NO_CODE}, which marks a free slot. The table has a fixed
+ * capacity and cells are never removed.
+ *
+ * <p>Each count is split into stripes, and a thread adds to the stripe chosen by its id. The
+ * stripes of a count are in separate regions of the count array, so threads counting the same busy
+ * cell do not compete for the same value or cache line. Reading a count adds up its stripes, and is
+ * not a snapshot of concurrent additions. Instances are thread-safe.
+ */
+public final class CellCounterMap {
+
+  /** The default number of stripes of each count. */
+  public static final int DEFAULT_STRIPES = 8;
+
+  private final AtomicLongArray cells;
+  // The count of the cell in each slot for each stripe, at stripe * capacity + slot.
+  private final AtomicLongArray counts;
+  private final int mask;
+  private final int stripeMask;
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * Creates a map with the default number of stripes.
+   *
+   * @param maxCells The number of cells the map can hold.
+   * @throws IllegalArgumentException if the number of cells is not valid.
+   */
+  public CellCounterMap(int maxCells) {
+    this(maxCells, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates a map.
+   *
+   * @param maxCells The number of cells the map can hold.
+   * @param stripes The number of stripes of each count, rounded up to a power of two. More stripes
+   *     reduce contention on busy cells, and use more memory.
+   * @throws IllegalArgumentException if the number of cells or stripes is not valid, or the map
+   *     would be too large.
+   */
+  public CellCounterMap(int maxCells, int stripes) {
+    if (maxCells < 1 || stripes < 1 || stripes > 1 << 10) {
+      throw new IllegalArgumentException(
+          "Invalid counter map of " + maxCells + " cells and " + stripes + " stripes");
+    }
+    // Keep the table at most half full, so that probe sequences stay short.
+    long capacity = 2;
+    while (capacity < 2L * maxCells) {
+      capacity *= 2;
+    }
+    int stripeCount = 1;
+    while (stripeCount < stripes) {
+      stripeCount *= 2;
+    }
+    if (capacity * stripeCount > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException(
+          "Counter map of " + maxCells + " cells and " + stripes + " stripes is too large");
+    }
+    this.cells = new AtomicLongArray((int) capacity);
+    this.counts = new AtomicLongArray((int) capacity * stripeCount);
+    this.mask = (int) capacity - 1;
+    this.stripeMask = stripeCount - 1;
+  }
+
+  /** Returns the number of cells with counts. */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Adds one to the count of a cell.
+   *
+   * @param cell A packed code.
+   * @throws IllegalArgumentException if the packed code is not valid.
+   * @throws IllegalStateException if the cell is new and the map already holds its maximum number
+   *     of cells.
+   */
+  public void increment(long cell) {
+    add(cell, 1);
+  }
+
+  /**
+   * Adds to the count of a cell.
+   *
+   * @param cell A packed code.
+   * @param delta The amount to add.
+   * @throws IllegalArgumentException if the packed code is not valid.
+   * @throws IllegalStateException if the cell is new and the map already holds its maximum number
+   *     of cells.
+   */
+  public void add(long cell, long delta) {
+    PackedCode.checkLength(PackedCode.length(cell));
+    int slot = claim(cell);
+    int stripe = (int) Thread.currentThread().getId() & stripeMask;
+    counts.getAndAdd(stripe * cells.length() + slot, delta);
+  }
+
+  /**
+   * Returns the count of a cell.
+   *
+   * @param cell A packed code.
+   * @return The sum of the counts added to the cell, or 0 if none were.
+   */
+  public long get(long cell) {
+    int slot = find(cell);
+    return slot < 0 ? 0 : count(slot);
+  }
+
+  /**
+   * Calls an action with each cell and its count, in no particular order. Cells added during the
+   * call may or may not be included.
+   *
+   * @param action Called with the packed code and count of each cell.
+   */
+  public void forEach(CellCountConsumer action) {
+    for (int slot = 0; slot < cells.length(); slot++) {
+      long cell = cells.get(slot);
+      if (cell != PackedCode.NO_CODE) {
+        action.accept(cell, count(slot));
+      }
+    }
+  }
+
+  private long count(int slot) {
+    long count = 0;
+    for (int stripe = 0; stripe <= stripeMask; stripe++) {
+      count += counts.get(stripe * cells.length() + slot);
+    }
+    return count;
+  }
+
+  /** Returns the slot of a cell, or -1 if it is not in the map. */
+  private int find(long cell) {
+    int slot = hash(cell);
+    for (int probes = 0; probes <= mask; probes++) {
+      long current = cells.get(slot);
+      if (current == cell) {
+        return slot;
+      }
+      if (current == PackedCode.NO_CODE) {
+        return -1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** Returns the slot of a cell, claiming a free slot for it if it is not in the map. */
+  private int claim(long cell) {
+    int slot = hash(cell);
+    for (int probes = 0; probes <= mask; probes++) {
+      long current = cells.get(slot);
+      if (current == cell) {
+        return slot;
+      }
+      if (current == PackedCode.NO_CODE) {
+        if (size.get() * 2 >= cells.length()) {
+          throw new IllegalStateException("The counter map is full with " + size.get() + " cells");
+        }
+        if (cells.compareAndSet(slot, PackedCode.NO_CODE, cell)) {
+          size.incrementAndGet();
+          return slot;
+        }
+        // Another thread claimed the slot, possibly for the same cell.
+        if (cells.get(slot) == cell) {
+          return slot;
+        }
+      }
+      slot = (slot + 1) & mask;
+    }
+    throw new IllegalStateException("The counter map is full with " + size.get() + " cells");
+  }
+
+  private int hash(long cell) {
+    long h = cell * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  /** An action on a cell and its count. */
+  public interface CellCountConsumer {
+    void accept(long cell, long count);
+  }
+}
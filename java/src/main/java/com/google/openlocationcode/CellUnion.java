@@ -0,0 +1,306 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A set of cells of mixed code lengths, stored as a sorted array of packed codes.
+ *
+ * <p>A union is normalized: no cell contains another, and complete groups of siblings (the 400
+ * children of a pair or the 20 children of a grid digit) are replaced by their parent. Two unions
+ * with the same area therefore have the same cells. Because a packed code sorts immediately before
+ * the codes it contains, unions are combined with linear merges of their arrays, and a cell is
+ * looked up with a binary search. Instances are immutable and thread-safe.
+ */
+public final class CellUnion {
+
+  private static final CellUnion EMPTY = new CellUnion(new long[0]);
+
+  private final long[] cells;
+
+  private CellUnion(long[] cells) {
+    this.cells = cells;
+  }
+
+  /**
+   * Creates a union of cells.
+   *
+   * @param cells The packed codes of the cells, in any order. They may overlap.
+   * @return The union.
+   * @throws IllegalArgumentException if a packed code is not valid.
+   */
+  public static CellUnion of(long... cells) {
+    long[] sorted = cells.clone();
+    for (long cell : sorted) {
+      PackedCode.checkLength(PackedCode.length(cell));
+    }
+    Arrays.sort(sorted);
+    return new CellUnion(normalize(sorted));
+  }
+
+  /** Returns the empty union. */
+  public static CellUnion empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a union of the cells of codes.
+   *
+   * @param codes Full Open Location Codes.
+   * @return The union.
+   * @throws IllegalArgumentException if a code is not a valid full code.
+   */
+  public static CellUnion fromCodes(Iterable<? extends CharSequence> codes) {
+    LongList cells = new LongList();
+    for (CharSequence code : codes) {
+      cells.add(PackedCode.pack(code));
+    }
+    return new CellUnion(normalize(cells.toSortedArray()));
+  }
+
+  /** Returns the packed codes of the cells, in code order. */
+  public long[] getCells() {
+    return cells.clone();
+  }
+
+  /** Returns the codes of the cells, in code order. */
+  public List<String> getCodes() {
+    List<String> codes = new ArrayList<>(cells.length);
+    for (long cell : cells) {
+      codes.add(PackedCode.toCode(cell));
+    }
+    return codes;
+  }
+
+  /** Returns the number of cells. */
+  public int size() {
+    return cells.length;
+  }
+
+  public boolean isEmpty() {
+    return cells.length == 0;
+  }
+
+  /**
+   * Returns whether a cell is in the union, either as one of its cells or inside one of them.
+   *
+   * @param cell A packed code.
+   */
+  public boolean contains(long cell) {
+    int index = Arrays.binarySearch(cells, cell);
+    if (index >= 0) {
+      return true;
+    }
+    // Only the cell before the insertion point can contain it.
+    index = -index - 2;
+    return index >= 0 && PackedCode.contains(cells[index], cell);
+  }
+
+  /**
+   * Returns whether a point is in the union.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   */
+  public boolean contains(double latitude, double longitude) {
+    return contains(PackedCode.encode(latitude, longitude, PackedCode.MAX_DIGIT_COUNT));
+  }
+
+  /** Returns whether all the cells of another union are in this one. */
+  public boolean contains(CellUnion other) {
+    long[] a = cells;
+    long[] b = other.cells;
+    int i = 0;
+    for (long cell : b) {
+      while (i < a.length && PackedCode.descendantLimit(a[i]) < cell) {
+        i++;
+      }
+      if (i == a.length || !PackedCode.contains(a[i], cell)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns whether the union shares some cell with another union. */
+  public boolean intersects(CellUnion other) {
+    long[] a = cells;
+    long[] b = other.cells;
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      if (PackedCode.contains(a[i], b[j]) || PackedCode.contains(b[j], a[i])) {
+        return true;
+      }
+      if (a[i] < b[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the union of this union and another. */
+  public CellUnion union(CellUnion other) {
+    long[] a = cells;
+    long[] b = other.cells;
+    long[] merged = new long[a.length + b.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < a.length && j < b.length) {
+      merged[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+    }
+    while (i < a.length) {
+      merged[k++] = a[i++];
+    }
+    while (j < b.length) {
+      merged[k++] = b[j++];
+    }
+    return new CellUnion(normalize(merged));
+  }
+
+  /** Returns the intersection of this union and another. */
+  public CellUnion intersection(CellUnion other) {
+    long[] a = cells;
+    long[] b = other.cells;
+    LongList result = new LongList();
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      // The smaller of two overlapping cells is in the intersection.
+      if (PackedCode.contains(a[i], b[j])) {
+        result.add(b[j++]);
+      } else if (PackedCode.contains(b[j], a[i])) {
+        result.add(a[i++]);
+      } else if (a[i] < b[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    // The result is sorted and does not overlap, but may include complete groups of siblings.
+    return new CellUnion(normalize(result.toArray()));
+  }
+
+  /** Returns the cells of this union that are not in another. */
+  public CellUnion difference(CellUnion other) {
+    LongList result = new LongList();
+    int j = 0;
+    for (long cell : cells) {
+      j = subtract(cell, other.cells, j, result);
+    }
+    return new CellUnion(normalize(result.toArray()));
+  }
+
+  /**
+   * Adds the parts of a cell outside the cells of a sorted array to a list, starting with the cell
+   * at an index of the array. Returns the index of the first cell that may overlap later cells.
+   */
+  private static int subtract(long cell, long[] other, int index, LongList result) {
+    while (index < other.length && PackedCode.descendantLimit(other[index]) < cell) {
+      index++;
+    }
+    long limit = PackedCode.descendantLimit(cell);
+    if (index == other.length || other[index] > limit) {
+      // Nothing to remove.
+      result.add(cell);
+      return index;
+    }
+    if (PackedCode.contains(other[index], cell)) {
+      // All of the cell is removed.
+      return index;
+    }
+    // Some descendants are removed, so split the cell into its children.
+    int[] next = {index};
+    PackedCode.forEachChild(cell, child -> next[0] = subtract(child, other, next[0], result));
+    return next[0];
+  }
+
+  /**
+   * Normalizes sorted cells in place, removing duplicates and cells inside other cells and
+   * replacing complete groups of siblings with their parent. Returns the normalized cells.
+   */
+  private static long[] normalize(long[] cells) {
+    int size = 0;
+    for (long cell : cells) {
+      if (size > 0 && PackedCode.contains(cells[size - 1], cell)) {
+        continue;
+      }
+      // Replace the last groups of siblings with their parent for as long as they are complete.
+      while (true) {
+        int length = PackedCode.length(cell);
+        if (length <= OpenLocationCode.MIN_DIGIT_COUNT) {
+          break;
+        }
+        int siblings = PackedCode.siblingCount(length);
+        if (PackedCode.siblingIndex(cell) != siblings - 1
+            || size < siblings - 1
+            || !completesSiblings(cells, size - siblings + 1, size, cell)) {
+          break;
+        }
+        size -= siblings - 1;
+        cell = PackedCode.parent(cell, PackedCode.parentLength(length));
+      }
+      cells[size++] = cell;
+    }
+    return size == cells.length ? cells : Arrays.copyOf(cells, size);
+  }
+
+  /**
+   * Returns whether the cells between two indices are the siblings before a last sibling. The cells
+   * are sorted and do not overlap, so this is the case if they all have the parent and length of
+   * the last sibling and the first is the first of the siblings.
+   */
+  private static boolean completesSiblings(long[] cells, int start, int end, long last) {
+    if (PackedCode.siblingIndex(cells[start]) != 0) {
+      return false;
+    }
+    int length = PackedCode.length(last);
+    long parent = PackedCode.parent(last, PackedCode.parentLength(length));
+    for (int i = start; i < end; i++) {
+      if (PackedCode.length(cells[i]) != length
+          || PackedCode.parent(cells[i], PackedCode.parentLength(length)) != parent) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return Arrays.equals(cells, ((CellUnion) o).cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(cells);
+  }
+
+  @Override
+  public String toString() {
+    return getCodes().toString();
+  }
+}
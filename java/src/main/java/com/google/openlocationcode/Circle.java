@@ -0,0 +1,163 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * The points within a distance of a center on the surface of the earth, treated as a sphere.
+ *
+ * <p>Distances are great circle distances computed with the haversine formula, so the circle is
+ * narrower in degrees of latitude than of longitude away from the equator. Rectangle tests are
+ * exact on the sphere: the distance to a rectangle is the distance to its nearest point, found on
+ * the parallel or meridian edges. The farthest point of a rectangle is the point nearest to the
+ * antipode of the center, which may lie inside an edge rather than at a corner. Rectangles whose
+ * eastern edge is less than their western edge are taken to cross the antimeridian. Instances are
+ * immutable and thread-safe.
+ */
+public final class Circle implements Region {
+
+  /** The mean radius of the earth in meters. */
+  public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  private final double latitude;
+  private final double longitude;
+  private final double radiusMeters;
+
+  /**
+   * Creates a circle.
+   *
+   * @param latitude The latitude of the center in decimal degrees.
+   * @param longitude The longitude of the center in decimal degrees.
+   * @param radiusMeters The radius in meters.
+   * @throws IllegalArgumentException if the center or radius is not valid.
+   */
+  public Circle(double latitude, double longitude, double radiusMeters) {
+    if (!(Math.abs(latitude) <= OpenLocationCode.LATITUDE_MAX)
+        || Double.isNaN(longitude)
+        || Double.isInfinite(longitude)
+        || !(radiusMeters >= 0)) {
+      throw new IllegalArgumentException(
+          "Invalid circle " + latitude + ", " + longitude + ", " + radiusMeters);
+    }
+    this.latitude = latitude;
+    this.longitude = longitude;
+    this.radiusMeters = radiusMeters;
+  }
+
+  public double getLatitude() {
+    return latitude;
+  }
+
+  public double getLongitude() {
+    return longitude;
+  }
+
+  public double getRadiusMeters() {
+    return radiusMeters;
+  }
+
+  /**
+   * Returns the great circle distance between two points in meters.
+   *
+   * @param latitude1 The latitude of the first point in decimal degrees.
+   * @param longitude1 The longitude of the first point in decimal degrees.
+   * @param latitude2 The latitude of the second point in decimal degrees.
+   * @param longitude2 The longitude of the second point in decimal degrees.
+   * @return The distance in meters.
+   */
+  public static double distanceMeters(
+      double latitude1, double longitude1, double latitude2, double longitude2) {
+    double lat1 = Math.toRadians(latitude1);
+    double lat2 = Math.toRadians(latitude2);
+    double sinLat = Math.sin((lat2 - lat1) / 2);
+    double sinLng = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+    double h = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLng * sinLng;
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(h)));
+  }
+
+  @Override
+  public boolean contains(double latitude, double longitude) {
+    return distanceMeters(this.latitude, this.longitude, latitude, longitude) <= radiusMeters;
+  }
+
+  @Override
+  public boolean containsRectangle(double south, double west, double north, double east) {
+    // The farthest point of the rectangle from the center is its nearest point to the antipode.
+    // Along a parallel, the distance from the center grows up to the antipodal meridian, so this
+    // point is not always a corner.
+    double antipodeLatitude = -latitude;
+    double antipodeLongitude = longitude + 180;
+    if (east < west) {
+      east += 360;
+    }
+    if (spans(west, east, antipodeLongitude)) {
+      return contains(Math.max(south, Math.min(north, antipodeLatitude)), antipodeLongitude);
+    }
+    return contains(
+            nearestOnMeridian(antipodeLatitude, antipodeLongitude, south, north, west), west)
+        && contains(
+            nearestOnMeridian(antipodeLatitude, antipodeLongitude, south, north, east), east);
+  }
+
+  @Override
+  public boolean intersectsRectangle(double south, double west, double north, double east) {
+    return distanceToRectangle(south, west, north, east) <= radiusMeters;
+  }
+
+  /** Returns the distance in meters from the center to the nearest point of a rectangle. */
+  double distanceToRectangle(double south, double west, double north, double east) {
+    if (east < west) {
+      east += 360;
+    }
+    if (spans(west, east, longitude)) {
+      // On the parallel edges, the nearest point is on the meridian of the center.
+      double nearestLatitude = Math.max(south, Math.min(north, latitude));
+      return distanceMeters(latitude, longitude, nearestLatitude, longitude);
+    }
+    return Math.min(
+        distanceMeters(
+            latitude, longitude, nearestOnMeridian(latitude, longitude, south, north, west), west),
+        distanceMeters(
+            latitude, longitude, nearestOnMeridian(latitude, longitude, south, north, east), east));
+  }
+
+  /**
+   * Returns whether a longitude is between the western and eastern edges of a rectangle, in any
+   * turn of the globe.
+   */
+  private static boolean spans(double west, double east, double longitude) {
+    // The longitude relative to the western edge, between 0 and 360.
+    double offset = longitude - west;
+    offset -= Math.floor(offset / 360) * 360;
+    return offset <= east - west;
+  }
+
+  /** Returns the latitude of the point on a segment of a meridian that is nearest to a point. */
+  private static double nearestOnMeridian(
+      double latitude, double longitude, double south, double north, double meridian) {
+    double cosDelta = Math.cos(Math.toRadians(meridian - longitude));
+    if (cosDelta > 0) {
+      // The distance along the meridian only grows away from the nearest point of the whole
+      // meridian.
+      double nearest = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / cosDelta));
+      return Math.max(south, Math.min(north, nearest));
+    }
+    // On the far side of the globe the distance is largest between the poles, so the nearest point
+    // is an end of the segment.
+    return distanceMeters(latitude, longitude, south, meridian)
+            <= distanceMeters(latitude, longitude, north, meridian)
+        ? south
+        : north;
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+/**
+ * Shared tables of the codes and areas of all the cells with 2 and 4 digits.
+ *
+ * <p>There are only 162 and 64,800 of these cells, so encoding and decoding them is a table lookup
+ * that returns shared instances instead of building a new string or area each time. Each table is
+ * built on first use, from packed codes so that building it does not go through the encoder.
+ */
+final class CoarseCodeTable {
+
+  /** The longest code length with a table. */
+  static final int MAX_LENGTH = 4;
+
+  private final String[] codes;
+  private final CodeArea[] areas;
+  private final long columns;
+  private final long latCellSize;
+  private final long lngCellSize;
+
+  private CoarseCodeTable(int codeLength) {
+    long rows = PackedCode.latitudeCells(codeLength);
+    this.columns = PackedCode.longitudeCells(codeLength);
+    this.latCellSize = PackedCode.latitudeCellSize(codeLength);
+    this.lngCellSize = PackedCode.longitudeCellSize(codeLength);
+    this.codes = new String[(int) (rows * columns)];
+    this.areas = new CodeArea[codes.length];
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        long packed = PackedCode.fromIndices(row, column, codeLength);
+        int index = (int) (row * columns + column);
+        codes[index] = PackedCode.toCode(packed);
+        areas[index] = PackedCode.decode(packed);
+      }
+    }
+  }
+
+  /** Holds the table for length 2, so that it is built when first used. */
+  private static final class Length2 {
+    static final CoarseCodeTable TABLE = new CoarseCodeTable(2);
+  }
+
+  /** Holds the table for length 4, so that it is built when first used. */
+  private static final class Length4 {
+    static final CoarseCodeTable TABLE = new CoarseCodeTable(4);
+  }
+
+  private static CoarseCodeTable forLength(int codeLength) {
+    return codeLength == 2 ? Length2.TABLE : Length4.TABLE;
+  }
+
+  /**
+   * Returns the code containing a location.
+   *
+   * @param lat The latitude in the positive integer units of {@link
+   *     OpenLocationCode#degreesToIntegers}.
+   * @param lng The longitude in the positive integer units of {@link
+   *     OpenLocationCode#degreesToIntegers}.
+   * @param codeLength The code length, 2 or 4.
+   * @return The shared code string.
+   */
+  static String encode(long lat, long lng, int codeLength) {
+    CoarseCodeTable table = forLength(codeLength);
+    return table.codes[(int) (lat / table.latCellSize * table.columns + lng / table.lngCellSize)];
+  }
+
+  /**
+   * Returns the area of a valid full code in upper case if it has 2 or 4 digits.
+   *
+   * @param code A valid full code in upper case.
+   * @return The shared area, or null if the code is longer.
+   */
+  static CodeArea decode(String code) {
+    if (code.length() != OpenLocationCode.SEPARATOR_POSITION + 1
+        || code.charAt(MAX_LENGTH) != OpenLocationCode.PADDING_CHARACTER) {
+      return null;
+    }
+    int codeLength = code.charAt(2) == OpenLocationCode.PADDING_CHARACTER ? 2 : 4;
+    long row = 0;
+    long column = 0;
+    for (int i = 0; i < codeLength; i += 2) {
+      row =
+          row * OpenLocationCode.ENCODING_BASE
+              + OpenLocationCode.CODE_ALPHABET.indexOf(code.charAt(i));
+      column =
+          column * OpenLocationCode.ENCODING_BASE
+              + OpenLocationCode.CODE_ALPHABET.indexOf(code.charAt(i + 1));
+    }
+    CoarseCodeTable table = forLength(codeLength);
+    return table.areas[(int) (row * table.columns + column)];
+  }
+}
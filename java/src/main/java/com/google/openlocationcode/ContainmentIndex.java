@@ -0,0 +1,186 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An index of codes of mixed lengths that finds all the codes containing a point or cell.
+ *
+ * <p>The codes are kept as a sorted array of packed codes for each code length. The code of each
+ * length that can contain a point is the prefix of the point's code with that length, so a query is
+ * one binary search for each length that has codes, whatever the number of codes. Instances are
+ * immutable and thread-safe.
+ */
+public final class ContainmentIndex {
+
+  // The sorted packed codes of each length, or null if there are none.
+  private final long[][] codesByLength;
+  // The lengths that have codes, from the shortest.
+  private final int[] lengths;
+  private final int size;
+
+  private ContainmentIndex(long[][] codesByLength) {
+    this.codesByLength = codesByLength;
+    int count = 0;
+    int lengthCount = 0;
+    for (long[] codes : codesByLength) {
+      if (codes != null) {
+        count += codes.length;
+        lengthCount++;
+      }
+    }
+    this.size = count;
+    this.lengths = new int[lengthCount];
+    for (int length = 0, i = 0; length < codesByLength.length; length++) {
+      if (codesByLength[length] != null) {
+        lengths[i++] = length;
+      }
+    }
+  }
+
+  /**
+   * Creates an index of packed codes.
+   *
+   * @param cells The packed codes, in any order. Duplicates are removed.
+   * @return The index.
+   * @throws IllegalArgumentException if a packed code is not valid.
+   */
+  public static ContainmentIndex of(long... cells) {
+    int[] counts = new int[PackedCode.MAX_DIGIT_COUNT + 1];
+    for (long cell : cells) {
+      counts[PackedCode.checkLength(PackedCode.length(cell))]++;
+    }
+    long[][] codesByLength = new long[counts.length][];
+    for (int length = 0; length < counts.length; length++) {
+      if (counts[length] > 0) {
+        codesByLength[length] = new long[counts[length]];
+      }
+    }
+    int[] positions = new int[counts.length];
+    for (long cell : cells) {
+      int length = PackedCode.length(cell);
+      codesByLength[length][positions[length]++] = cell;
+    }
+    for (int length = 0; length < counts.length; length++) {
+      if (codesByLength[length] != null) {
+        codesByLength[length] = sortedDistinct(codesByLength[length]);
+      }
+    }
+    return new ContainmentIndex(codesByLength);
+  }
+
+  /**
+   * Creates an index of codes.
+   *
+   * @param codes Full Open Location Codes.
+   * @return The index.
+   * @throws IllegalArgumentException if a code is not a valid full code.
+   */
+  public static ContainmentIndex fromCodes(Iterable<? extends CharSequence> codes) {
+    LongList cells = new LongList();
+    for (CharSequence code : codes) {
+      cells.add(PackedCode.pack(code));
+    }
+    return of(cells.toArray());
+  }
+
+  private static long[] sortedDistinct(long[] cells) {
+    Arrays.sort(cells);
+    int size = 0;
+    for (long cell : cells) {
+      if (size == 0 || cells[size - 1] != cell) {
+        cells[size++] = cell;
+      }
+    }
+    return size == cells.length ? cells : Arrays.copyOf(cells, size);
+  }
+
+  /** Returns the number of codes in the index. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the codes in the index containing a point.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @return The packed codes, from the shortest.
+   */
+  public long[] containing(double latitude, double longitude) {
+    return containing(PackedCode.encode(latitude, longitude, PackedCode.MAX_DIGIT_COUNT));
+  }
+
+  /**
+   * Returns the codes in the index containing a cell, including the cell itself.
+   *
+   * @param cell A packed code.
+   * @return The packed codes, from the shortest.
+   */
+  public long[] containing(long cell) {
+    LongList result = new LongList();
+    forEachContaining(cell, result::add);
+    return result.toArray();
+  }
+
+  /**
+   * Calls an action with each code in the index containing a point, from the shortest.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param action Called with each packed code.
+   */
+  public void forEachContaining(double latitude, double longitude, LongConsumer action) {
+    forEachContaining(PackedCode.encode(latitude, longitude, PackedCode.MAX_DIGIT_COUNT), action);
+  }
+
+  /**
+   * Calls an action with each code in the index containing a cell, from the shortest. The cell
+   * itself is included if it is in the index.
+   *
+   * @param cell A packed code.
+   * @param action Called with each packed code.
+   */
+  public void forEachContaining(long cell, LongConsumer action) {
+    int cellLength = PackedCode.length(cell);
+    for (int length : lengths) {
+      if (length > cellLength) {
+        break;
+      }
+      long prefix = PackedCode.parent(cell, length);
+      if (Arrays.binarySearch(codesByLength[length], prefix) >= 0) {
+        action.accept(prefix);
+      }
+    }
+  }
+
+  /**
+   * Returns whether any code in the index contains a point.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   */
+  public boolean containsPoint(double latitude, double longitude) {
+    long cell = PackedCode.encode(latitude, longitude, PackedCode.MAX_DIGIT_COUNT);
+    for (int length : lengths) {
+      if (Arrays.binarySearch(codesByLength[length], PackedCode.parent(cell, length)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,309 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write decoded coordinates as decimal text without going through {@link Double#toString} or {@link
+ * String#format}.
+ *
+ * <p>Code area edges are exact multiples of 1/LAT_INTEGER_MULTIPLIER and 1/LNG_INTEGER_MULTIPLIER
+ * degrees, which have finite decimal expansions, so the formatter works with exact integer
+ * arithmetic. Values are rounded half away from zero to the configured number of fractional digits
+ * and trailing zeros are removed, so the text is the shortest decimal for the rounded value. With
+ * {@link #MAX_FRACTION_DIGITS} digits, edges and centers are written exactly.
+ *
+ * <p>Each value uses at most {@link #MAX_VALUE_LENGTH} characters. Formatter objects are not
+ * thread-safe.
+ */
+public final class CoordinateFormatter {
+
+  // Number of fractional digits needed to write all edges and centers exactly.
+  public static final int MAX_FRACTION_DIGITS = 17;
+
+  // Maximum number of characters used to write a value: sign, three integer digits, decimal point
+  // and fraction.
+  public static final int MAX_VALUE_LENGTH = 5 + MAX_FRACTION_DIGITS;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_FRACTION_DIGITS; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final int fractionDigits;
+  private final char separator;
+
+  // The value being written, set by split().
+  private boolean negative;
+  private long integerPart;
+  private long fraction;
+  private int fractionLength;
+
+  /**
+   * Creates a formatter that separates values with commas.
+   *
+   * @param fractionDigits The maximum number of digits after the decimal point.
+   * @throws IllegalArgumentException if the number of digits is negative or greater than {@link
+   *     #MAX_FRACTION_DIGITS}.
+   */
+  public CoordinateFormatter(int fractionDigits) {
+    this(fractionDigits, ',');
+  }
+
+  /**
+   * Creates a formatter.
+   *
+   * @param fractionDigits The maximum number of digits after the decimal point.
+   * @param separator The character written between values.
+   * @throws IllegalArgumentException if the number of digits is negative or greater than {@link
+   *     #MAX_FRACTION_DIGITS}.
+   */
+  public CoordinateFormatter(int fractionDigits, char separator) {
+    if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) {
+      throw new IllegalArgumentException("Illegal number of fraction digits " + fractionDigits);
+    }
+    this.fractionDigits = fractionDigits;
+    this.separator = separator;
+  }
+
+  /**
+   * Writes a latitude given as the positive integer used for encoding.
+   *
+   * @param latitude The latitude as a positive integer.
+   * @param dest The array to write to.
+   * @param offset The position of the first character to write.
+   * @return The position after the last character written.
+   */
+  public int formatLatitude(long latitude, char[] dest, int offset) {
+    splitLatitude(2 * latitude);
+    return write(dest, offset);
+  }
+
+  /**
+   * Writes a longitude given as the positive integer used for encoding.
+   *
+   * @param longitude The longitude as a positive integer.
+   * @param dest The array to write to.
+   * @param offset The position of the first character to write.
+   * @return The position after the last character written.
+   */
+  public int formatLongitude(long longitude, char[] dest, int offset) {
+    splitLongitude(2 * longitude);
+    return write(dest, offset);
+  }
+
+  /**
+   * Writes the center of a packed code as latitude and longitude.
+   *
+   * @param packedCode A packed code.
+   * @param dest The array to write to.
+   * @param offset The position of the first character to write.
+   * @return The position after the last character written.
+   */
+  public int formatCenter(long packedCode, char[] dest, int offset) {
+    int length = PackedCode.length(packedCode);
+    splitLatitude(2 * PackedCode.southInteger(packedCode) + PackedCode.latitudeCellSize(length));
+    offset = write(dest, offset);
+    dest[offset++] = separator;
+    splitLongitude(2 * PackedCode.westInteger(packedCode) + PackedCode.longitudeCellSize(length));
+    return write(dest, offset);
+  }
+
+  /**
+   * Writes the south, west, north and east edges of a packed code.
+   *
+   * @param packedCode A packed code.
+   * @param dest The array to write to.
+   * @param offset The position of the first character to write.
+   * @return The position after the last character written.
+   */
+  public int formatBounds(long packedCode, char[] dest, int offset) {
+    int length = PackedCode.length(packedCode);
+    long south = PackedCode.southInteger(packedCode);
+    long west = PackedCode.westInteger(packedCode);
+    splitLatitude(2 * south);
+    offset = write(dest, offset);
+    dest[offset++] = separator;
+    splitLongitude(2 * west);
+    offset = write(dest, offset);
+    dest[offset++] = separator;
+    splitLatitude(2 * (south + PackedCode.latitudeCellSize(length)));
+    offset = write(dest, offset);
+    dest[offset++] = separator;
+    splitLongitude(2 * (west + PackedCode.longitudeCellSize(length)));
+    return write(dest, offset);
+  }
+
+  /**
+   * Writes a latitude given as the positive integer used for encoding as ASCII bytes at the
+   * buffer's position.
+   *
+   * @param latitude The latitude as a positive integer.
+   * @param dest The buffer to write to.
+   */
+  public void formatLatitude(long latitude, ByteBuffer dest) {
+    splitLatitude(2 * latitude);
+    write(dest);
+  }
+
+  /**
+   * Writes a longitude given as the positive integer used for encoding as ASCII bytes at the
+   * buffer's position.
+   *
+   * @param longitude The longitude as a positive integer.
+   * @param dest The buffer to write to.
+   */
+  public void formatLongitude(long longitude, ByteBuffer dest) {
+    splitLongitude(2 * longitude);
+    write(dest);
+  }
+
+  /**
+   * Writes the center of a packed code as latitude and longitude, as ASCII bytes at the buffer's
+   * position.
+   *
+   * @param packedCode A packed code.
+   * @param dest The buffer to write to.
+   */
+  public void formatCenter(long packedCode, ByteBuffer dest) {
+    int length = PackedCode.length(packedCode);
+    splitLatitude(2 * PackedCode.southInteger(packedCode) + PackedCode.latitudeCellSize(length));
+    write(dest);
+    dest.put((byte) separator);
+    splitLongitude(2 * PackedCode.westInteger(packedCode) + PackedCode.longitudeCellSize(length));
+    write(dest);
+  }
+
+  /**
+   * Writes the south, west, north and east edges of a packed code as ASCII bytes at the buffer's
+   * position.
+   *
+   * @param packedCode A packed code.
+   * @param dest The buffer to write to.
+   */
+  public void formatBounds(long packedCode, ByteBuffer dest) {
+    int length = PackedCode.length(packedCode);
+    long south = PackedCode.southInteger(packedCode);
+    long west = PackedCode.westInteger(packedCode);
+    splitLatitude(2 * south);
+    write(dest);
+    dest.put((byte) separator);
+    splitLongitude(2 * west);
+    write(dest);
+    dest.put((byte) separator);
+    splitLatitude(2 * (south + PackedCode.latitudeCellSize(length)));
+    write(dest);
+    dest.put((byte) separator);
+    splitLongitude(2 * (west + PackedCode.longitudeCellSize(length)));
+    write(dest);
+  }
+
+  // The split methods take twice the positive integer, so that centers can be written exactly.
+
+  private void splitLatitude(long doubledLatitude) {
+    split(
+        doubledLatitude
+            - 2 * OpenLocationCode.LATITUDE_MAX * OpenLocationCode.LAT_INTEGER_MULTIPLIER,
+        2 * OpenLocationCode.LAT_INTEGER_MULTIPLIER);
+  }
+
+  private void splitLongitude(long doubledLongitude) {
+    split(
+        doubledLongitude
+            - 2 * OpenLocationCode.LONGITUDE_MAX * OpenLocationCode.LNG_INTEGER_MULTIPLIER,
+        2 * OpenLocationCode.LNG_INTEGER_MULTIPLIER);
+  }
+
+  /** Computes the rounded decimal digits of numerator / denominator by long division. */
+  private void split(long numerator, long denominator) {
+    long magnitude = Math.abs(numerator);
+    long integer = magnitude / denominator;
+    long remainder = magnitude % denominator;
+    long digits = 0;
+    for (int i = 0; i < fractionDigits; i++) {
+      remainder *= 10;
+      digits = digits * 10 + remainder / denominator;
+      remainder %= denominator;
+    }
+    if (2 * remainder >= denominator) {
+      digits++;
+      if (digits == POWERS_OF_TEN[fractionDigits]) {
+        digits = 0;
+        integer++;
+      }
+    }
+    int length = fractionDigits;
+    while (length > 0 && digits % 10 == 0) {
+      digits /= 10;
+      length--;
+    }
+    negative = numerator < 0 && (integer != 0 || digits != 0);
+    integerPart = integer;
+    fraction = digits;
+    fractionLength = length;
+  }
+
+  private int write(char[] dest, int offset) {
+    if (negative) {
+      dest[offset++] = '-';
+    }
+    offset = writeDigits(integerPart, digitCount(integerPart), dest, offset);
+    if (fractionLength > 0) {
+      dest[offset++] = '.';
+      offset = writeDigits(fraction, fractionLength, dest, offset);
+    }
+    return offset;
+  }
+
+  private void write(ByteBuffer dest) {
+    if (negative) {
+      dest.put((byte) '-');
+    }
+    writeDigits(integerPart, digitCount(integerPart), dest);
+    if (fractionLength > 0) {
+      dest.put((byte) '.');
+      writeDigits(fraction, fractionLength, dest);
+    }
+  }
+
+  /** Writes a value as a fixed number of digits, with leading zeros if necessary. */
+  private static int writeDigits(long value, int count, char[] dest, int offset) {
+    for (int i = offset + count - 1; i >= offset; i--) {
+      dest[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return offset + count;
+  }
+
+  /** Writes a value as a fixed number of digits, with leading zeros if necessary. */
+  private static void writeDigits(long value, int count, ByteBuffer dest) {
+    for (int i = count - 1; i >= 0; i--) {
+      dest.put((byte) ('0' + value / POWERS_OF_TEN[i] % 10));
+    }
+  }
+
+  private static int digitCount(long value) {
+    int count = 1;
+    while (count < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[count]) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,221 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * Parse decimal degree text directly into the integer values used for encoding.
+ *
+ * <p>Parsing with {@link Double#parseDouble} and then encoding rounds the coordinate twice: once to
+ * the nearest double and again when it is multiplied and floored. This can put locations on a cell
+ * edge into the neighbouring cell. This class computes floor(degrees * multiplier) exactly from the
+ * decimal digits, so the result is exactly the integer value of the coordinate as written.
+ *
+ * <p>The accepted syntax is optional surrounding spaces or tabs, an optional sign, and decimal
+ * digits with an optional decimal point, e.g. "47.0000625" or "-8.5". Exponents are not supported.
+ */
+public final class CoordinateParser {
+
+  // Number of fractional digits that are used exactly. Any further digits only affect the result
+  // when computing the floor of negative values, since the multipliers divide 10^16.
+  private static final int MAX_FRACTION_DIGITS = 16;
+
+  // Integer part above which latitudes are clipped anyway.
+  private static final long LATITUDE_LIMIT = 10 * OpenLocationCode.LATITUDE_MAX;
+
+  // For each number of fractional digits, the multiplier and power of ten reduced by their greatest
+  // common divisor, so that fraction * multiplier / 10^digits can be computed without overflow.
+  private static final long[] LAT_NUMERATOR = new long[MAX_FRACTION_DIGITS + 1];
+  private static final long[] LAT_DENOMINATOR = new long[MAX_FRACTION_DIGITS + 1];
+  private static final long[] LNG_NUMERATOR = new long[MAX_FRACTION_DIGITS + 1];
+  private static final long[] LNG_DENOMINATOR = new long[MAX_FRACTION_DIGITS + 1];
+
+  static {
+    long pow10 = 1;
+    for (int digits = 0; digits <= MAX_FRACTION_DIGITS; digits++) {
+      long latGcd = gcd(OpenLocationCode.LAT_INTEGER_MULTIPLIER, pow10);
+      LAT_NUMERATOR[digits] = OpenLocationCode.LAT_INTEGER_MULTIPLIER / latGcd;
+      LAT_DENOMINATOR[digits] = pow10 / latGcd;
+      long lngGcd = gcd(OpenLocationCode.LNG_INTEGER_MULTIPLIER, pow10);
+      LNG_NUMERATOR[digits] = OpenLocationCode.LNG_INTEGER_MULTIPLIER / lngGcd;
+      LNG_DENOMINATOR[digits] = pow10 / lngGcd;
+      pow10 *= 10;
+    }
+  }
+
+  private CoordinateParser() {}
+
+  /**
+   * Parses a latitude into the clipped, positive integer used for encoding.
+   *
+   * @param text The latitude in decimal degrees.
+   * @return The latitude as a positive integer.
+   * @throws NumberFormatException if the text is not a decimal number.
+   */
+  public static long parseLatitude(CharSequence text) {
+    return parseLatitude(text, 0, text.length());
+  }
+
+  /**
+   * Parses a latitude between two positions of a character sequence into the clipped, positive
+   * integer used for encoding.
+   *
+   * @param text The text containing the latitude in decimal degrees.
+   * @param start The position of the first character.
+   * @param end The position after the last character.
+   * @return The latitude as a positive integer.
+   * @throws NumberFormatException if the text is not a decimal number.
+   */
+  public static long parseLatitude(CharSequence text, int start, int end) {
+    return OpenLocationCode.clipLatitudeInteger(parse(text, start, end, true));
+  }
+
+  /**
+   * Parses a longitude into the normalised, positive integer used for encoding.
+   *
+   * @param text The longitude in decimal degrees.
+   * @return The longitude as a positive integer.
+   * @throws NumberFormatException if the text is not a decimal number.
+   */
+  public static long parseLongitude(CharSequence text) {
+    return parseLongitude(text, 0, text.length());
+  }
+
+  /**
+   * Parses a longitude between two positions of a character sequence into the normalised, positive
+   * integer used for encoding.
+   *
+   * @param text The text containing the longitude in decimal degrees.
+   * @param start The position of the first character.
+   * @param end The position after the last character.
+   * @return The longitude as a positive integer.
+   * @throws NumberFormatException if the text is not a decimal number.
+   */
+  public static long parseLongitude(CharSequence text, int start, int end) {
+    return OpenLocationCode.normalizeLongitudeInteger(parse(text, start, end, false));
+  }
+
+  /**
+   * Encodes a location given as decimal degree text. The result does not depend on how the
+   * coordinates would be rounded to doubles.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param codeLength The number of digits in the code.
+   * @return The code.
+   * @throws NumberFormatException if a coordinate is not a decimal number.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  public static String encode(CharSequence latitude, CharSequence longitude, int codeLength) {
+    return OpenLocationCode.encodeIntegers(
+        parseLatitude(latitude), parseLongitude(longitude), codeLength);
+  }
+
+  /**
+   * Encodes a location given as decimal degree text into a packed code.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param codeLength The number of digits in the code.
+   * @return The packed code.
+   * @throws NumberFormatException if a coordinate is not a decimal number.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  public static long encodePacked(CharSequence latitude, CharSequence longitude, int codeLength) {
+    return PackedCode.encodeIntegers(
+        parseLatitude(latitude), parseLongitude(longitude), codeLength);
+  }
+
+  /**
+   * Computes floor(value * multiplier) for decimal text, where the multiplier is the latitude or
+   * longitude integer multiplier. Latitudes with large integer parts are limited, since they will
+   * be clipped, and longitudes are reduced modulo 360 degrees, since they will be normalised.
+   */
+  private static long parse(CharSequence text, int start, int end, boolean isLatitude) {
+    while (start < end && isSpace(text.charAt(start))) {
+      start++;
+    }
+    while (end > start && isSpace(text.charAt(end - 1))) {
+      end--;
+    }
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+      negative = text.charAt(pos) == '-';
+      pos++;
+    }
+    long integerPart = 0;
+    int digitCount = 0;
+    for (; pos < end && isDigit(text.charAt(pos)); pos++, digitCount++) {
+      integerPart = integerPart * 10 + text.charAt(pos) - '0';
+      integerPart =
+          isLatitude
+              ? Math.min(integerPart, LATITUDE_LIMIT)
+              : integerPart % (2 * OpenLocationCode.LONGITUDE_MAX);
+    }
+    long fraction = 0;
+    int fractionDigits = 0;
+    boolean inexact = false;
+    if (pos < end && text.charAt(pos) == '.') {
+      for (pos++; pos < end && isDigit(text.charAt(pos)); pos++, digitCount++) {
+        if (fractionDigits < MAX_FRACTION_DIGITS) {
+          fraction = fraction * 10 + text.charAt(pos) - '0';
+          fractionDigits++;
+        } else if (text.charAt(pos) != '0') {
+          inexact = true;
+        }
+      }
+    }
+    if (pos != end || digitCount == 0) {
+      throw new NumberFormatException(
+          "Invalid coordinate: \"" + text.subSequence(start, end) + "\"");
+    }
+    long multiplier;
+    long scaled;
+    if (isLatitude) {
+      multiplier = OpenLocationCode.LAT_INTEGER_MULTIPLIER;
+      scaled = fraction * LAT_NUMERATOR[fractionDigits];
+      inexact |= scaled % LAT_DENOMINATOR[fractionDigits] != 0;
+      scaled /= LAT_DENOMINATOR[fractionDigits];
+    } else {
+      multiplier = OpenLocationCode.LNG_INTEGER_MULTIPLIER;
+      scaled = fraction * LNG_NUMERATOR[fractionDigits];
+      inexact |= scaled % LNG_DENOMINATOR[fractionDigits] != 0;
+      scaled /= LNG_DENOMINATOR[fractionDigits];
+    }
+    long value = integerPart * multiplier + scaled;
+    if (negative) {
+      // floor(-x) is -ceil(x).
+      return inexact ? -value - 1 : -value;
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      long t = a % b;
+      a = b;
+      b = t;
+    }
+    return a;
+  }
+}
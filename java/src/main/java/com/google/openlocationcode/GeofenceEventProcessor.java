@@ -0,0 +1,175 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+
+/**
+ * Turns a stream of entity positions into events for entering and leaving fences.
+ *
+ * <p>The fences are kept in a {@link GeofenceIndex}. For each entity, the processor keeps the cell
+ * of its last position, at the length of the longest cells in the fence coverings, and the fences
+ * it was in. If an update is in the same cell and no boundary cell of a fence contains that cell,
+ * the entity is in the same fences as before and the update does no fence work at all. Otherwise
+ * the fences containing the position are found and compared with the previous ones.
+ *
+ * <p>The state of the entities is kept in primitive maps and arrays indexed by entity. Instances
+ * are not thread-safe: a stream partitioned by entity can use one processor per partition.
+ */
+public final class GeofenceEventProcessor {
+
+  /** Receives the events of a processor. */
+  public interface Listener {
+
+    /** Called when an entity enters a fence. */
+    void onEnter(long entityId, long fenceId, long timestamp);
+
+    /** Called when an entity leaves a fence. */
+    void onExit(long entityId, long fenceId, long timestamp);
+  }
+
+  private static final long[] NO_FENCES = new long[0];
+  // Not a valid packed code, so that the first update of an entity never matches its cell.
+  private static final long NO_CELL = -1;
+
+  private final GeofenceIndex fences;
+  private final Listener listener;
+  private final int cellLength;
+  // The slot of each entity in the arrays below.
+  private final LongLongHashMap slots = new LongLongHashMap();
+  // Slots freed by removed entities.
+  private final LongList freeSlots = new LongList();
+  private final LongList found = new LongList();
+  private long[] cells = new long[16];
+  private boolean[] resolved = new boolean[16];
+  // The sorted ids of the fences each entity is in.
+  private long[][] inside = new long[16][];
+  private int slotCount;
+
+  /**
+   * Creates a processor.
+   *
+   * @param fences The fences.
+   * @param listener Receives the events.
+   */
+  public GeofenceEventProcessor(GeofenceIndex fences, Listener listener) {
+    this.fences = fences;
+    this.listener = listener;
+    this.cellLength = Math.max(OpenLocationCode.MIN_DIGIT_COUNT, fences.maxCellLength());
+  }
+
+  /**
+   * Creates a processor of polygon fences, covered with the defaults of {@link GeofenceIndex}.
+   *
+   * @param ids The ids of the fences.
+   * @param fences The fences, in the order of their ids.
+   * @param listener Receives the events.
+   * @return The processor.
+   * @throws IllegalArgumentException if there are not as many ids as fences.
+   */
+  public static GeofenceEventProcessor of(long[] ids, Polygon[] fences, Listener listener) {
+    return new GeofenceEventProcessor(GeofenceIndex.of(ids, fences), listener);
+  }
+
+  /** Returns the number of entities with a position. */
+  public int size() {
+    return slots.size();
+  }
+
+  /**
+   * Processes a new position of an entity. Leaving a fence is reported before entering another.
+   *
+   * @param entityId The id of the entity.
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param timestamp Passed on to the listener.
+   */
+  public void update(long entityId, double latitude, double longitude, long timestamp) {
+    long cell = PackedCode.encode(latitude, longitude, cellLength);
+    int slot = (int) slots.get(entityId, -1);
+    if (slot < 0) {
+      slot = addEntity(entityId);
+    } else if (cells[slot] == cell && resolved[slot]) {
+      return;
+    }
+    found.clear();
+    fences.forEachContaining(latitude, longitude, found::add);
+    long[] current = found.isEmpty() ? NO_FENCES : found.toSortedArray();
+    long[] previous = inside[slot];
+    for (long fenceId : previous) {
+      if (Arrays.binarySearch(current, fenceId) < 0) {
+        listener.onExit(entityId, fenceId, timestamp);
+      }
+    }
+    for (long fenceId : current) {
+      if (Arrays.binarySearch(previous, fenceId) < 0) {
+        listener.onEnter(entityId, fenceId, timestamp);
+      }
+    }
+    inside[slot] = current;
+    if (cells[slot] != cell) {
+      cells[slot] = cell;
+      resolved[slot] = fences.isResolved(cell);
+    }
+  }
+
+  /**
+   * Forgets an entity, reporting that it leaves the fences it was in.
+   *
+   * @param entityId The id of the entity.
+   * @param timestamp Passed on to the listener.
+   */
+  public void remove(long entityId, long timestamp) {
+    int slot = (int) slots.remove(entityId, -1);
+    if (slot < 0) {
+      return;
+    }
+    for (long fenceId : inside[slot]) {
+      listener.onExit(entityId, fenceId, timestamp);
+    }
+    inside[slot] = null;
+    freeSlots.add(slot);
+  }
+
+  /**
+   * Returns the ids of the fences an entity is in.
+   *
+   * @param entityId The id of the entity.
+   * @return The ids in increasing order, and none if the entity has no position.
+   */
+  public long[] getFences(long entityId) {
+    int slot = (int) slots.get(entityId, -1);
+    return slot < 0 ? NO_FENCES : inside[slot].clone();
+  }
+
+  private int addEntity(long entityId) {
+    int slot;
+    if (freeSlots.isEmpty()) {
+      slot = slotCount++;
+      if (slot == cells.length) {
+        cells = Arrays.copyOf(cells, slot * 2);
+        resolved = Arrays.copyOf(resolved, slot * 2);
+        inside = Arrays.copyOf(inside, slot * 2);
+      }
+    } else {
+      slot = (int) freeSlots.removeLast();
+    }
+    cells[slot] = NO_CELL;
+    resolved[slot] = false;
+    inside[slot] = NO_FENCES;
+    slots.put(entityId, slot);
+    return slot;
+  }
+}
@@ -0,0 +1,223 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An index of polygon fences that finds the fences containing a point.
+ *
+ * <p>Each fence is covered with a {@link RegionCoverer}, and the cells of all the coverings are
+ * kept as a sorted array of packed codes for each code length, as in {@link ContainmentIndex}. A
+ * query looks up the prefixes of the point's code. A fence whose interior cell contains the point
+ * contains it without any further test, and only a fence whose boundary cell contains the point is
+ * tested against its edges. The cells of one covering do not overlap, so each fence is found at
+ * most once. Instances are immutable and thread-safe.
+ */
+public final class GeofenceIndex {
+
+  /** The default length of the longest cells in the coverings. */
+  public static final int DEFAULT_MAX_LENGTH = 10;
+
+  /** The default maximum number of cells in the covering of each fence. */
+  public static final int DEFAULT_MAX_CELLS = 16;
+
+  private final long[] ids;
+  private final Polygon[] fences;
+  // The sorted packed codes of the cells of each length, or null if there are none.
+  private final long[][] cellsByLength;
+  // The fence of each cell, as its position in the fences if the cell is inside the fence, or as
+  // the complement of its position if the cell is on the boundary of the fence.
+  private final int[][] entriesByLength;
+  // The lengths that have cells, from the shortest.
+  private final int[] lengths;
+
+  private GeofenceIndex(long[] ids, Polygon[] fences, RegionCoverer coverer) {
+    if (ids.length != fences.length) {
+      throw new IllegalArgumentException(
+          "Got " + ids.length + " ids for " + fences.length + " fences");
+    }
+    this.ids = ids.clone();
+    this.fences = fences.clone();
+    LongList[] cells = new LongList[PackedCode.MAX_DIGIT_COUNT + 1];
+    LongList[] entries = new LongList[cells.length];
+    for (int fence = 0; fence < fences.length; fence++) {
+      RegionCoverer.Covering covering = coverer.cover(fences[fence]);
+      for (long cell : covering.getInteriorCells()) {
+        addCell(cells, entries, cell, fence);
+      }
+      for (long cell : covering.getBoundaryCells()) {
+        addCell(cells, entries, cell, ~fence);
+      }
+    }
+    this.cellsByLength = new long[cells.length][];
+    this.entriesByLength = new int[cells.length][];
+    int lengthCount = 0;
+    for (int length = 0; length < cells.length; length++) {
+      if (cells[length] != null) {
+        sortByCell(length, cells[length].toArray(), entries[length].toArray());
+        lengthCount++;
+      }
+    }
+    this.lengths = new int[lengthCount];
+    for (int length = 0, i = 0; length < cells.length; length++) {
+      if (cells[length] != null) {
+        lengths[i++] = length;
+      }
+    }
+  }
+
+  private static void addCell(LongList[] cells, LongList[] entries, long cell, int entry) {
+    int length = PackedCode.length(cell);
+    if (cells[length] == null) {
+      cells[length] = new LongList();
+      entries[length] = new LongList();
+    }
+    cells[length].add(cell);
+    entries[length].add(entry);
+  }
+
+  /** Sorts the cells of a length, with their entries, and stores them. */
+  private void sortByCell(int length, long[] cells, long[] entries) {
+    Integer[] order = new Integer[cells.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(cells[a], cells[b]));
+    long[] sortedCells = new long[cells.length];
+    int[] sortedEntries = new int[cells.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedCells[i] = cells[order[i]];
+      sortedEntries[i] = (int) entries[order[i]];
+    }
+    cellsByLength[length] = sortedCells;
+    entriesByLength[length] = sortedEntries;
+  }
+
+  /**
+   * Creates an index of fences, covered with the default lengths and number of cells.
+   *
+   * @param ids The ids of the fences.
+   * @param fences The fences, in the order of their ids.
+   * @return The index.
+   * @throws IllegalArgumentException if there are not as many ids as fences.
+   */
+  public static GeofenceIndex of(long[] ids, Polygon[] fences) {
+    return of(
+        ids,
+        fences,
+        new RegionCoverer(OpenLocationCode.MIN_DIGIT_COUNT, DEFAULT_MAX_LENGTH, DEFAULT_MAX_CELLS));
+  }
+
+  /**
+   * Creates an index of fences.
+   *
+   * <p>Coverings with more and longer cells make more queries resolve without testing the edges of
+   * a fence, at the cost of memory.
+   *
+   * @param ids The ids of the fences.
+   * @param fences The fences, in the order of their ids.
+   * @param coverer The coverer of the fences.
+   * @return The index.
+   * @throws IllegalArgumentException if there are not as many ids as fences.
+   */
+  public static GeofenceIndex of(long[] ids, Polygon[] fences, RegionCoverer coverer) {
+    return new GeofenceIndex(ids, fences, coverer);
+  }
+
+  /** Returns the number of fences in the index. */
+  public int size() {
+    return fences.length;
+  }
+
+  /**
+   * Returns the ids of the fences containing a point.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @return The ids, in no particular order.
+   */
+  public long[] containing(double latitude, double longitude) {
+    LongList result = new LongList();
+    forEachContaining(latitude, longitude, result::add);
+    return result.toArray();
+  }
+
+  /**
+   * Calls an action with the id of each fence containing a point, in no particular order.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param action Called with each id.
+   */
+  public void forEachContaining(double latitude, double longitude, LongConsumer action) {
+    long cell = PackedCode.encode(latitude, longitude, PackedCode.MAX_DIGIT_COUNT);
+    for (int length : lengths) {
+      long prefix = PackedCode.parent(cell, length);
+      long[] cells = cellsByLength[length];
+      int[] entries = entriesByLength[length];
+      for (int i = firstIndex(cells, prefix); i < cells.length && cells[i] == prefix; i++) {
+        int entry = entries[i];
+        if (entry >= 0) {
+          action.accept(ids[entry]);
+        } else if (fences[~entry].contains(latitude, longitude)) {
+          action.accept(ids[~entry]);
+        }
+      }
+    }
+  }
+
+  /** Returns the length of the longest cells in the coverings, or 0 if there are none. */
+  int maxCellLength() {
+    return lengths.length == 0 ? 0 : lengths[lengths.length - 1];
+  }
+
+  /**
+   * Returns whether every fence either contains all of a cell or none of it, as far as the
+   * coverings tell, so that all the points of the cell are in the same fences. This is the case if
+   * no boundary cell contains the cell.
+   *
+   * @param cell A packed code at least as long as {@link #maxCellLength}.
+   */
+  boolean isResolved(long cell) {
+    for (int length : lengths) {
+      long prefix = PackedCode.parent(cell, length);
+      long[] cells = cellsByLength[length];
+      int[] entries = entriesByLength[length];
+      for (int i = firstIndex(cells, prefix); i < cells.length && cells[i] == prefix; i++) {
+        if (entries[i] < 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Returns the index of the first cell not less than a key in a sorted array. */
+  private static int firstIndex(long[] cells, long key) {
+    int low = 0;
+    int high = cells.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (cells[middle] < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,248 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Finds neighbouring cells using the rows and columns of the grid for a code length.
+ *
+ * <p>Columns wrap around at the antimeridian. Rows do not wrap at the poles: cells beyond the
+ * northernmost or southernmost row do not exist, so neighbourhoods are clipped there.
+ */
+public final class GridNeighbors {
+
+  private GridNeighbors() {}
+
+  /**
+   * Returns an iterator over the up to eight cells sharing an edge or corner with a cell. There are
+   * fewer next to the poles.
+   *
+   * @param cell A packed code.
+   * @return The packed codes of the neighbours, with the same length as the cell.
+   * @throws IllegalArgumentException if the packed code is not valid.
+   */
+  public static PrimitiveIterator.OfLong neighbors(long cell) {
+    return ring(cell, 1);
+  }
+
+  /**
+   * Returns an iterator over the cells k rows or columns away from a cell, forming the border of a
+   * square of 2k + 1 cells around it. The iterator computes each cell from its row and column, and
+   * does not allocate after it is created.
+   *
+   * <p>Each cell is returned once, even when the square is wider than the globe. Ring 0 is the cell
+   * itself.
+   *
+   * @param cell A packed code.
+   * @param k The distance of the ring in cells, 0 or more.
+   * @return The packed codes of the cells in the ring, with the same length as the cell, from south
+   *     to north.
+   * @throws IllegalArgumentException if the packed code is not valid or k is negative.
+   */
+  public static PrimitiveIterator.OfLong ring(long cell, int k) {
+    PackedCode.checkLength(PackedCode.length(cell));
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid ring " + k);
+    }
+    return new RingIterator(cell, k);
+  }
+
+  /**
+   * Returns the cells within a number of rows and columns of a set of cells, including the cells
+   * themselves. This buffers an area by k rings of neighbouring cells.
+   *
+   * <p>The cells are grouped into runs of adjacent cells in each row, and each output row is built
+   * by merging the widened runs of the rows within k of it, so the work depends on the number of
+   * runs and output cells rather than on the number of cells times the size of the neighbourhood.
+   *
+   * @param cells The packed codes of cells, which must all have the same length. They may be in any
+   *     order and contain duplicates.
+   * @param k The number of rings of neighbours to add, 0 or more.
+   * @return The packed codes of the cells, in code order.
+   * @throws IllegalArgumentException if the cells have different lengths or k is negative.
+   */
+  public static long[] dilate(long[] cells, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid number of rings " + k);
+    }
+    if (cells.length == 0) {
+      return new long[0];
+    }
+    int codeLength = PackedCode.checkLength(PackedCode.length(cells[0]));
+    long gridRows = PackedCode.latitudeCells(codeLength);
+    long gridColumns = PackedCode.longitudeCells(codeLength);
+    // Sort the cells by row and then column.
+    long[] positions = new long[cells.length];
+    for (int i = 0; i < cells.length; i++) {
+      if (PackedCode.length(cells[i]) != codeLength) {
+        throw new IllegalArgumentException("The cells have different code lengths.");
+      }
+      positions[i] =
+          PackedCode.latitudeIndex(cells[i]) * gridColumns + PackedCode.longitudeIndex(cells[i]);
+    }
+    Arrays.sort(positions);
+    // Find the runs of adjacent cells in each row.
+    LongList runRows = new LongList();
+    LongList runStarts = new LongList();
+    LongList runEnds = new LongList();
+    for (int i = 0; i < positions.length; ) {
+      long row = positions[i] / gridColumns;
+      long start = positions[i] % gridColumns;
+      long end = start;
+      while (++i < positions.length
+          && positions[i] / gridColumns == row
+          && positions[i] % gridColumns <= end + 1) {
+        end = positions[i] % gridColumns;
+      }
+      runRows.add(row);
+      runStarts.add(start);
+      runEnds.add(end);
+    }
+
+    LongList result = new LongList();
+    LongList intervals = new LongList();
+    int first = 0;
+    long row = Math.max(0, runRows.get(0) - k);
+    while (first < runRows.size() && row < gridRows) {
+      // The runs within k rows of the row.
+      while (first < runRows.size() && runRows.get(first) < row - k) {
+        first++;
+      }
+      if (first == runRows.size()) {
+        break;
+      }
+      if (runRows.get(first) > row + k) {
+        // Skip the rows with no runs near them.
+        row = runRows.get(first) - k;
+        continue;
+      }
+      intervals.clear();
+      for (int i = first; i < runRows.size() && runRows.get(i) <= row + k; i++) {
+        addInterval(runStarts.get(i) - k, runEnds.get(i) + k, gridColumns, intervals);
+      }
+      // Intervals are stored as start * gridColumns + end, so sorting them sorts by start.
+      long[] sorted = intervals.toSortedArray();
+      long start = -1;
+      long end = -1;
+      for (long interval : sorted) {
+        long nextStart = interval / gridColumns;
+        long nextEnd = interval % gridColumns;
+        if (nextStart > end + 1) {
+          addCells(row, start, end, codeLength, result);
+          start = nextStart;
+        }
+        end = Math.max(end, nextEnd);
+      }
+      addCells(row, start, end, codeLength, result);
+      row++;
+    }
+    return result.toSortedArray();
+  }
+
+  /** Adds an interval of columns, which may extend past the antimeridian, to a list. */
+  private static void addInterval(long start, long end, long gridColumns, LongList intervals) {
+    if (end - start + 1 >= gridColumns) {
+      intervals.add(gridColumns - 1);
+      return;
+    }
+    start = Math.floorMod(start, gridColumns);
+    end = Math.floorMod(end, gridColumns);
+    if (end < start) {
+      intervals.add(start * gridColumns + gridColumns - 1);
+      intervals.add(end);
+    } else {
+      intervals.add(start * gridColumns + end);
+    }
+  }
+
+  /** Adds the cells in a row between two columns to a list, if there are any. */
+  private static void addCells(long row, long start, long end, int codeLength, LongList result) {
+    for (long column = Math.max(0, start); column <= end; column++) {
+      result.add(PackedCode.fromIndices(row, column, codeLength));
+    }
+  }
+
+  /** Iterates over a ring row by row, with the whole southern and northern rows of the square. */
+  private static final class RingIterator implements PrimitiveIterator.OfLong {
+    private final int codeLength;
+    private final long gridColumns;
+    private final long cellRow;
+    private final long cellColumn;
+    private final int k;
+    // The number of cells in the southern and northern rows, and in each row between them.
+    private final long width;
+    private final long sides;
+    private final long lastRow;
+    private long row;
+    private long index;
+
+    RingIterator(long cell, int k) {
+      this.codeLength = PackedCode.length(cell);
+      this.gridColumns = PackedCode.longitudeCells(codeLength);
+      this.cellRow = PackedCode.latitudeIndex(cell);
+      this.cellColumn = PackedCode.longitudeIndex(cell);
+      this.k = k;
+      this.width = Math.min(2L * k + 1, gridColumns);
+      // The western and eastern sides are the same column when the square is exactly as wide as
+      // the globe, and are nearer the other way around when it is wider.
+      this.sides = 2L * k < gridColumns ? 2 : 2L * k == gridColumns ? 1 : 0;
+      this.lastRow = Math.min(PackedCode.latitudeCells(codeLength) - 1, cellRow + k);
+      this.row = Math.max(0, cellRow - k);
+      skipEmptyRows();
+    }
+
+    private boolean isFullRow(long row) {
+      return row == cellRow - k || row == cellRow + k;
+    }
+
+    private long rowSize(long row) {
+      return isFullRow(row) ? width : sides;
+    }
+
+    private void skipEmptyRows() {
+      while (row <= lastRow && rowSize(row) == 0) {
+        row++;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return row <= lastRow;
+    }
+
+    @Override
+    public long nextLong() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      long column;
+      if (isFullRow(row)) {
+        column = width == gridColumns ? index : cellColumn - k + index;
+      } else {
+        column = index == 0 ? cellColumn - k : cellColumn + k;
+      }
+      long cell = PackedCode.fromIndices(row, Math.floorMod(column, gridColumns), codeLength);
+      if (++index == rowSize(row)) {
+        index = 0;
+        row++;
+        skipEmptyRows();
+      }
+      return cell;
+    }
+  }
+}
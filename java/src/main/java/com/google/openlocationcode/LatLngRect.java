@@ -0,0 +1,126 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * A rectangle of latitudes and longitudes, such as the bounding box of a map view.
+ *
+ * <p>A rectangle whose eastern edge is west of its western edge crosses the antimeridian. A
+ * rectangle only intersects another rectangle if they share some area, unless one of them has no
+ * height or width, so cells that only touch its edges are not included in coverings. Instances are
+ * immutable and thread-safe.
+ */
+public final class LatLngRect implements Region {
+
+  private static final double FULL_CIRCLE = 2 * OpenLocationCode.LONGITUDE_MAX;
+
+  private final double south;
+  private final double west;
+  private final double north;
+  private final double width;
+
+  /**
+   * Creates a rectangle.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees. If it is less than the western edge, the
+   *     rectangle crosses the antimeridian.
+   * @throws IllegalArgumentException if the rectangle is not valid.
+   */
+  public LatLngRect(double south, double west, double north, double east) {
+    if (!(south <= north)
+        || Double.isNaN(west)
+        || Double.isNaN(east)
+        || Double.isInfinite(west)
+        || Double.isInfinite(east)) {
+      throw new IllegalArgumentException(
+          "Invalid rectangle " + south + ", " + west + ", " + north + ", " + east);
+    }
+    this.south = Math.max(-OpenLocationCode.LATITUDE_MAX, south);
+    this.north = Math.min(OpenLocationCode.LATITUDE_MAX, north);
+    this.west = wrap(west + OpenLocationCode.LONGITUDE_MAX) - OpenLocationCode.LONGITUDE_MAX;
+    if (east - west >= FULL_CIRCLE) {
+      this.width = FULL_CIRCLE;
+    } else if (east < west) {
+      this.width = east - west + FULL_CIRCLE;
+    } else {
+      this.width = east - west;
+    }
+  }
+
+  public double getSouthLatitude() {
+    return south;
+  }
+
+  /** Returns the western edge, between -180 and 180. */
+  public double getWestLongitude() {
+    return west;
+  }
+
+  public double getNorthLatitude() {
+    return north;
+  }
+
+  /** Returns the eastern edge. It is more than 180 if the rectangle crosses the antimeridian. */
+  public double getEastLongitude() {
+    return west + width;
+  }
+
+  @Override
+  public boolean contains(double latitude, double longitude) {
+    return south <= latitude
+        && latitude <= north
+        && (width >= FULL_CIRCLE || wrap(longitude - west) <= width);
+  }
+
+  @Override
+  public boolean containsRectangle(double south, double west, double north, double east) {
+    if (south < this.south || north > this.north) {
+      return false;
+    }
+    return width >= FULL_CIRCLE || wrap(west - this.west) + east - west <= width;
+  }
+
+  @Override
+  public boolean intersectsRectangle(double south, double west, double north, double east) {
+    if (!overlaps(south, north, this.south, this.north)) {
+      return false;
+    }
+    // Move the rectangle so that its western edge is within a turn east of this one.
+    double start = this.west + wrap(west - this.west);
+    double end = start + east - west;
+    return overlaps(start, end, this.west, this.west + width)
+        || overlaps(start, end, this.west + FULL_CIRCLE, this.west + FULL_CIRCLE + width);
+  }
+
+  /** Returns whether two intervals share some length, or a point if either has no length. */
+  private static boolean overlaps(double start1, double end1, double start2, double end2) {
+    double start = Math.max(start1, start2);
+    double end = Math.min(end1, end2);
+    return start < end || start == end && (start1 == end1 || start2 == end2);
+  }
+
+  /** Returns a number of degrees between 0 and 360. */
+  private static double wrap(double degrees) {
+    return degrees - Math.floor(degrees / FULL_CIRCLE) * FULL_CIRCLE;
+  }
+
+  @Override
+  public String toString() {
+    return "LatLngRect[" + south + ", " + west + ", " + north + ", " + getEastLongitude() + "]";
+  }
+}
@@ -0,0 +1,78 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+
+/** A growable list of primitive longs, used to collect packed codes without boxing them. */
+final class LongList {
+
+  private long[] values;
+  private int size;
+
+  LongList() {
+    this(16);
+  }
+
+  LongList(int capacity) {
+    values = new long[Math.max(1, capacity)];
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  long get(int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+    }
+    return values[index];
+  }
+
+  void add(long value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+    }
+    values[size++] = value;
+  }
+
+  /** Removes and returns the last value. */
+  long removeLast() {
+    if (size == 0) {
+      throw new IndexOutOfBoundsException("Empty list");
+    }
+    return values[--size];
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  /** Returns a copy of the values. */
+  long[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  /** Returns a sorted copy of the values. */
+  long[] toSortedArray() {
+    long[] sorted = toArray();
+    Arrays.sort(sorted);
+    return sorted;
+  }
+}
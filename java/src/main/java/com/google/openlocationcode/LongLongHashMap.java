@@ -0,0 +1,174 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * A hash map from primitive longs to primitive longs, used to keep state by entity id or packed
+ * code without boxing.
+ *
+ * <p>Keys are stored by open addressing with linear probing, and removing a key shifts the
+ * following keys of its run back, so there are no tombstones. The key 0 marks a free slot in the
+ * table and is stored separately. Instances are not thread-safe.
+ */
+final class LongLongHashMap {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  // The number of keys in the table, not counting the key 0.
+  private int tableSize;
+  private boolean hasZeroKey;
+  private long zeroValue;
+
+  LongLongHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /** Creates a map that holds a number of keys without growing. */
+  LongLongHashMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2L) {
+      capacity *= 2;
+    }
+    allocate(capacity);
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  int size() {
+    return tableSize + (hasZeroKey ? 1 : 0);
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  boolean containsKey(long key) {
+    return key == 0 ? hasZeroKey : keys[find(key)] == key;
+  }
+
+  /** Returns the value of a key, or a default value if the key is not in the map. */
+  long get(long key, long defaultValue) {
+    if (key == 0) {
+      return hasZeroKey ? zeroValue : defaultValue;
+    }
+    int slot = find(key);
+    return keys[slot] == key ? values[slot] : defaultValue;
+  }
+
+  /** Sets the value of a key. */
+  void put(long key, long value) {
+    if (key == 0) {
+      hasZeroKey = true;
+      zeroValue = value;
+      return;
+    }
+    int slot = find(key);
+    if (keys[slot] != key) {
+      keys[slot] = key;
+      if (++tableSize * 2 > keys.length) {
+        values[slot] = value;
+        rehash(keys.length * 2);
+        return;
+      }
+    }
+    values[slot] = value;
+  }
+
+  /** Removes a key, and returns its value or a default value if the key was not in the map. */
+  long remove(long key, long defaultValue) {
+    if (key == 0) {
+      if (!hasZeroKey) {
+        return defaultValue;
+      }
+      hasZeroKey = false;
+      return zeroValue;
+    }
+    int slot = find(key);
+    if (keys[slot] != key) {
+      return defaultValue;
+    }
+    long value = values[slot];
+    tableSize--;
+    // Move back each following key of the run that would no longer be found past the gap.
+    int gap = slot;
+    for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+      int home = hash(keys[next]);
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+    }
+    keys[gap] = 0;
+    return value;
+  }
+
+  void clear() {
+    allocate(MIN_CAPACITY);
+    tableSize = 0;
+    hasZeroKey = false;
+  }
+
+  /** Calls an action with each key and value, in no particular order. */
+  void forEach(EntryConsumer action) {
+    if (hasZeroKey) {
+      action.accept(0, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        action.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /** Returns the slot of a non-zero key, or the free slot where it would be added. */
+  private int find(long key) {
+    int slot = hash(key);
+    while (keys[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = find(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /** An action on a key and its value. */
+  interface EntryConsumer {
+    void accept(long key, long value);
+  }
+}
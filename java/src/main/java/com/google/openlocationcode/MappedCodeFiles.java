@@ -0,0 +1,412 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams of packed codes read from large text files.
+ *
+ * <p>Files are memory mapped in windows and read one line at a time, without creating a string for
+ * each line. The streams split the file at line boundaries, so {@link LongStream#parallel()}
+ * processing scales across cores, unlike {@link java.nio.file.Files#lines}.
+ *
+ * <p>Empty lines and lines starting with # are skipped. Lines that cannot be read produce {@link
+ * PackedCode#NO_CODE}, so that they can be counted or filtered out. The streams hold the file open
+ * and should be closed, for example with a try-with-resources statement:
+ *
+ * <pre>{@code
+ * try (LongStream codes = MappedCodeFiles.packedCodes(path)) {
+ *   long count = codes.parallel().filter(c -> c != PackedCode.NO_CODE).count();
+ * }
+ * }</pre>
+ *
+ * <p>Files can also be read as {@link #chunks} of whole lines, for callers that process the bytes
+ * of each line themselves.
+ */
+public final class MappedCodeFiles {
+
+  /** The maximum number of bytes in a chunk. */
+  public static final int MAX_CHUNK_SIZE = 1 << 28;
+
+  // Maximum number of bytes mapped at a time. Lines must be shorter than this.
+  private static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+  // Ranges smaller than this are not split.
+  static final int MIN_SPLIT_SIZE = 1 << 12;
+
+  private MappedCodeFiles() {}
+
+  /**
+   * Streams the codes in a file with one full code on each line.
+   *
+   * @param file The file to read.
+   * @return The packed codes, or {@link PackedCode#NO_CODE} for lines that are not valid full
+   *     codes. Codes longer than {@link PackedCode#MAX_DIGIT_COUNT} digits are truncated.
+   * @throws IOException if the file cannot be opened.
+   */
+  public static LongStream packedCodes(Path file) throws IOException {
+    return lines(file, line -> PackedCode.tryPack(line, 0, line.length()), DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Streams the codes of the locations in a file with a latitude and longitude on each line,
+   * separated by a comma or tab. The coordinates are encoded from their decimal text with {@link
+   * CoordinateParser}. Any further columns are ignored.
+   *
+   * @param file The file to read.
+   * @param codeLength The number of digits in the codes.
+   * @return The packed codes, or {@link PackedCode#NO_CODE} for lines that do not hold valid
+   *     coordinates.
+   * @throws IOException if the file cannot be opened.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  public static LongStream encodeCoordinates(Path file, int codeLength) throws IOException {
+    PackedCode.checkLength(codeLength);
+    return lines(file, line -> encodeLine(line, codeLength), DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Streams the result of a function applied to each line of a file.
+   *
+   * @param file The file to read.
+   * @param parser Applied to each line without its line terminator and surrounding spaces. The line
+   *     is only valid during the call.
+   * @param windowSize The maximum number of bytes mapped at a time.
+   */
+  static LongStream lines(Path file, ToLongFunction<CharSequence> parser, int windowSize)
+      throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      LineSpliterator spliterator =
+          new LineSpliterator(channel, parser, windowSize, 0, channel.size());
+      return StreamSupport.longStream(spliterator, false).onClose(closer(channel));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Streams a file in chunks of whole lines, so that the chunks can be processed independently.
+   * Each chunk is a read-only slice of the mapped file, so no file data is copied. Every chunk ends
+   * with a newline, except possibly the last one. A chunk is larger than the chunk size only if it
+   * holds a single longer line.
+   *
+   * @param file The file to read.
+   * @param chunkSize The approximate number of bytes in each chunk, up to {@link #MAX_CHUNK_SIZE}.
+   * @return The chunks in file order.
+   * @throws IOException if the file cannot be opened.
+   * @throws IllegalArgumentException if the chunk size is not valid.
+   */
+  public static Stream<ByteBuffer> chunks(Path file, int chunkSize) throws IOException {
+    if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException("Invalid chunk size " + chunkSize);
+    }
+    return chunks(file, chunkSize, Math.max(DEFAULT_WINDOW_SIZE, 2 * chunkSize));
+  }
+
+  /**
+   * Streams a file in chunks of whole lines.
+   *
+   * @param file The file to read.
+   * @param chunkSize The approximate number of bytes in each chunk.
+   * @param windowSize The maximum number of bytes mapped at a time.
+   */
+  static Stream<ByteBuffer> chunks(Path file, int chunkSize, int windowSize) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      ChunkSpliterator spliterator =
+          new ChunkSpliterator(channel, chunkSize, windowSize, channel.size());
+      return StreamSupport.stream(spliterator, false).onClose(closer(channel));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static Runnable closer(FileChannel channel) {
+    return () -> {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+
+  /** Maps part of a file for reading. */
+  private static MappedByteBuffer map(FileChannel channel, long position, long size) {
+    try {
+      return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static UncheckedIOException lineTooLong(int windowSize, long position) {
+    return new UncheckedIOException(
+        new IOException("Line longer than " + windowSize + " bytes at " + position + "."));
+  }
+
+  private static long encodeLine(CharSequence line, int codeLength) {
+    int separator = 0;
+    while (separator < line.length()
+        && line.charAt(separator) != ','
+        && line.charAt(separator) != '\t') {
+      separator++;
+    }
+    int end = separator + 1;
+    while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '\t') {
+      end++;
+    }
+    if (separator >= line.length()) {
+      return PackedCode.NO_CODE;
+    }
+    try {
+      return PackedCode.encodeIntegers(
+          CoordinateParser.parseLatitude(line, 0, separator),
+          CoordinateParser.parseLongitude(line, separator + 1, end),
+          codeLength);
+    } catch (NumberFormatException e) {
+      return PackedCode.NO_CODE;
+    }
+  }
+
+  /**
+   * Splits a range of a file at line boundaries. The range always starts at the start of a line and
+   * ends after a newline or at the end of the file.
+   */
+  private static final class LineSpliterator implements Spliterator.OfLong {
+
+    private final FileChannel channel;
+    private final ToLongFunction<CharSequence> parser;
+    private final int windowSize;
+    private final AsciiView line = new AsciiView();
+    // The start of the next line, and the end of the range, as file positions.
+    private long position;
+    private final long end;
+    // The mapped part of the range, and its file position.
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    LineSpliterator(
+        FileChannel channel,
+        ToLongFunction<CharSequence> parser,
+        int windowSize,
+        long position,
+        long end) {
+      this.channel = channel;
+      this.parser = parser;
+      this.windowSize = windowSize;
+      this.position = position;
+      this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      while (position < end) {
+        int lineStart = (int) (position - windowStart);
+        int lineEnd = window == null || lineStart < 0 ? -1 : findNewline(lineStart);
+        if (lineEnd < 0) {
+          map();
+          lineStart = 0;
+          lineEnd = findNewline(0);
+          if (lineEnd < 0) {
+            throw lineTooLong(windowSize, position);
+          }
+        }
+        position = windowStart + Math.min(lineEnd + 1, window.limit());
+        // Trim the line terminator and surrounding spaces.
+        while (lineEnd > lineStart && isSpace(window.get(lineEnd - 1))) {
+          lineEnd--;
+        }
+        while (lineStart < lineEnd && isSpace(window.get(lineStart))) {
+          lineStart++;
+        }
+        if (lineStart < lineEnd && window.get(lineStart) != '#') {
+          action.accept(parser.applyAsLong(line.set(window, lineStart, lineEnd)));
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+      if (end - position < MIN_SPLIT_SIZE) {
+        return null;
+      }
+      long split;
+      try {
+        split = afterNewline(position + (end - position) / 2);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (split >= end) {
+        return null;
+      }
+      Spliterator.OfLong prefix = new LineSpliterator(channel, parser, windowSize, position, split);
+      position = split;
+      window = null;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      // The number of bytes is an upper bound on the number of lines.
+      return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /** Maps the range from the current position. */
+    private void map() {
+      windowStart = position;
+      window = MappedCodeFiles.map(channel, position, Math.min(windowSize, end - position));
+    }
+
+    /**
+     * Returns the window position of the end of the line starting at a window position. This is the
+     * position of its newline, or the end of the window if it is the end of the range.
+     *
+     * @return The end of the line, or -1 if the line does not end in the window.
+     */
+    private int findNewline(int start) {
+      int limit = window.limit();
+      for (int i = start; i < limit; i++) {
+        if (window.get(i) == '\n') {
+          return i;
+        }
+      }
+      return windowStart + limit == end ? limit : -1;
+    }
+
+    /** Returns the file position after the first newline at or after a file position. */
+    private long afterNewline(long from) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(MIN_SPLIT_SIZE);
+      long offset = from;
+      while (offset < end) {
+        buffer.clear();
+        int read = channel.read(buffer, offset);
+        if (read <= 0) {
+          break;
+        }
+        for (int i = 0; i < read; i++) {
+          if (buffer.get(i) == '\n') {
+            return offset + i + 1;
+          }
+        }
+        offset += read;
+      }
+      return end;
+    }
+
+    private static boolean isSpace(byte b) {
+      return b == ' ' || b == '\t' || b == '\r';
+    }
+  }
+
+  /** Splits a file into chunks of whole lines, in file order. */
+  private static final class ChunkSpliterator extends Spliterators.AbstractSpliterator<ByteBuffer> {
+
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final int windowSize;
+    // The start of the next chunk, and the size of the file.
+    private long position;
+    private final long end;
+    // The mapped part of the file, and its file position.
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    ChunkSpliterator(FileChannel channel, int chunkSize, int windowSize, long end) {
+      super(end, ORDERED | NONNULL | IMMUTABLE);
+      this.channel = channel;
+      this.chunkSize = chunkSize;
+      this.windowSize = windowSize;
+      this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ByteBuffer> action) {
+      while (position < end) {
+        int start = (int) (position - windowStart);
+        int chunkEnd = window == null ? -1 : findChunkEnd(start);
+        if (chunkEnd >= 0) {
+          ByteBuffer chunk = window.duplicate();
+          chunk.limit(chunkEnd);
+          chunk.position(start);
+          position = windowStart + chunkEnd;
+          action.accept(chunk.slice());
+          return true;
+        }
+        if (window != null && start == 0) {
+          throw lineTooLong(windowSize, position);
+        }
+        // Map the window from the start of the chunk and try again.
+        windowStart = position;
+        window = map(channel, position, Math.min(windowSize, end - position));
+      }
+      return false;
+    }
+
+    /**
+     * Returns the window position of the end of the chunk starting at a window position. This is
+     * after the last newline within the chunk size, or after the first one if there is none.
+     *
+     * @return The end of the chunk, or -1 if the chunk does not end in the window.
+     */
+    private int findChunkEnd(int start) {
+      int limit = window.limit();
+      if (start >= limit) {
+        return -1;
+      }
+      boolean lastWindow = windowStart + limit == end;
+      int from = Math.min(start + chunkSize, limit);
+      if (from == limit && lastWindow) {
+        return limit;
+      }
+      for (int i = from - 1; i >= start; i--) {
+        if (window.get(i) == '\n') {
+          return i + 1;
+        }
+      }
+      for (int i = from; i < limit; i++) {
+        if (window.get(i) == '\n') {
+          return i + 1;
+        }
+      }
+      return lastWindow ? limit : -1;
+    }
+  }
+}
@@ -0,0 +1,403 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * A concurrent index of moving entities by the cell of a code length they are in.
+ *
+ * <p>Entities are split into shards by id, each with its own read-write lock. A shard keeps the
+ * slot of each entity in a primitive map, and links the slots of the entities in the same cell into
+ * a list whose first slot is kept in a second primitive map by packed code. Moving an entity to
+ * another cell unlinks and links one slot, and an update in the same cell only takes the read lock
+ * of its shard, so updates of entities that stay in their cells do not block each other.
+ *
+ * <p>Queries by cell, by shorter code and by bounding box look up each cell of the query in the
+ * cell map of every shard, or scan the occupied cells of the shard if there are fewer of them.
+ * Queries see each shard in a consistent state, but not all shards at the same instant. The actions
+ * of queries are called while holding the read lock of a shard, and must not update the index.
+ */
+public final class MovingObjectIndex {
+
+  /** The default number of shards. */
+  public static final int DEFAULT_CONCURRENCY = 16;
+
+  private final int codeLength;
+  private final Shard[] shards;
+
+  /**
+   * Creates an index with the default number of shards.
+   *
+   * @param codeLength The length of the cells the entities are indexed by.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  public MovingObjectIndex(int codeLength) {
+    this(codeLength, DEFAULT_CONCURRENCY);
+  }
+
+  /**
+   * Creates an index.
+   *
+   * @param codeLength The length of the cells the entities are indexed by.
+   * @param concurrency The number of shards, rounded up to a power of two. More shards let more
+   *     threads move entities at the same time, at the cost of queries looking at more shards.
+   * @throws IllegalArgumentException if the code length or concurrency is not valid.
+   */
+  public MovingObjectIndex(int codeLength, int concurrency) {
+    this.codeLength = PackedCode.checkLength(codeLength);
+    if (concurrency < 1 || concurrency > 1 << 16) {
+      throw new IllegalArgumentException("Invalid concurrency " + concurrency);
+    }
+    int shardCount = 1;
+    while (shardCount < concurrency) {
+      shardCount <<= 1;
+    }
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = new Shard();
+    }
+  }
+
+  public int getCodeLength() {
+    return codeLength;
+  }
+
+  /** Returns the number of entities in the index. */
+  public int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      Lock lock = shard.lock.readLock();
+      lock.lock();
+      try {
+        size += shard.slots.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Sets the position of an entity, adding it if it is not in the index.
+   *
+   * @param entityId The id of the entity.
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @return Whether the entity was added or moved to another cell.
+   */
+  public boolean update(long entityId, double latitude, double longitude) {
+    return shard(entityId).update(entityId, PackedCode.encode(latitude, longitude, codeLength));
+  }
+
+  /**
+   * Sets the cell of an entity, adding it if it is not in the index.
+   *
+   * @param entityId The id of the entity.
+   * @param cell The packed code of the cell, of the code length of the index.
+   * @return Whether the entity was added or moved to another cell.
+   * @throws IllegalArgumentException if the cell does not have the code length of the index.
+   */
+  public boolean update(long entityId, long cell) {
+    if (PackedCode.length(cell) != codeLength) {
+      throw new IllegalArgumentException(
+          "Cell " + PackedCode.toCode(cell) + " is not of length " + codeLength);
+    }
+    return shard(entityId).update(entityId, cell);
+  }
+
+  /**
+   * Removes an entity.
+   *
+   * @param entityId The id of the entity.
+   * @return Whether the entity was in the index.
+   */
+  public boolean remove(long entityId) {
+    Shard shard = shard(entityId);
+    Lock lock = shard.lock.writeLock();
+    lock.lock();
+    try {
+      int slot = (int) shard.slots.remove(entityId, -1);
+      if (slot < 0) {
+        return false;
+      }
+      shard.unlink(slot);
+      shard.freeSlots.add(slot);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the cell of an entity.
+   *
+   * @param entityId The id of the entity.
+   * @return The packed code of the cell, or {@link PackedCode#NO_CODE} if the entity is not in the
+   *     index.
+   */
+  public long getCell(long entityId) {
+    Shard shard = shard(entityId);
+    Lock lock = shard.lock.readLock();
+    lock.lock();
+    try {
+      int slot = (int) shard.slots.get(entityId, -1);
+      return slot < 0 ? PackedCode.NO_CODE : shard.cells[slot];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the entities in a cell.
+   *
+   * @param cell A packed code no longer than the code length of the index. A shorter code is a
+   *     prefix, and all the entities in its area are returned.
+   * @return The ids of the entities, in no particular order.
+   * @throws IllegalArgumentException if the cell is longer than the code length of the index.
+   */
+  public long[] inCell(long cell) {
+    LongList result = new LongList();
+    forEachInCell(cell, result::add);
+    return result.toArray();
+  }
+
+  /**
+   * Calls an action with each entity in a cell, in no particular order.
+   *
+   * @param cell A packed code no longer than the code length of the index. A shorter code is a
+   *     prefix, and all the entities in its area are included.
+   * @param action Called with the id of each entity.
+   * @throws IllegalArgumentException if the cell is longer than the code length of the index.
+   */
+  public void forEachInCell(long cell, LongConsumer action) {
+    int length = PackedCode.checkLength(PackedCode.length(cell));
+    if (length > codeLength) {
+      throw new IllegalArgumentException(
+          "Cell " + PackedCode.toCode(cell) + " is longer than " + codeLength);
+    }
+    long descendants =
+        PackedCode.latitudeCells(codeLength)
+            / PackedCode.latitudeCells(length)
+            * (PackedCode.longitudeCells(codeLength) / PackedCode.longitudeCells(length));
+    for (Shard shard : shards) {
+      Lock lock = shard.lock.readLock();
+      lock.lock();
+      try {
+        if (length == codeLength) {
+          shard.forEachInCell(cell, action);
+        } else if (descendants <= shard.cellMap.size()) {
+          RegionCoverer.forEachDescendant(
+              cell, codeLength, descendant -> shard.forEachInCell(descendant, action));
+        } else {
+          shard.cellMap.forEach(
+              (occupied, head) -> {
+                if (PackedCode.contains(cell, occupied)) {
+                  shard.forEachInList((int) head, action);
+                }
+              });
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Returns the entities in the cells intersecting a bounding box, as in {@link BoundingBoxCells}.
+   * Entities are indexed by cell, so entities near the box in its edge cells are included.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees.
+   * @return The ids of the entities, in no particular order.
+   * @throws IllegalArgumentException if the box is not valid.
+   */
+  public long[] inBoundingBox(double south, double west, double north, double east) {
+    LongList result = new LongList();
+    forEachInBoundingBox(south, west, north, east, result::add);
+    return result.toArray();
+  }
+
+  /**
+   * Calls an action with each entity in the cells intersecting a bounding box, in no particular
+   * order.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees.
+   * @param action Called with the id of each entity.
+   * @throws IllegalArgumentException if the box is not valid.
+   */
+  public void forEachInBoundingBox(
+      double south, double west, double north, double east, LongConsumer action) {
+    BoundingBoxCells box = new BoundingBoxCells(south, west, north, east, codeLength);
+    for (Shard shard : shards) {
+      Lock lock = shard.lock.readLock();
+      lock.lock();
+      try {
+        if (box.size() <= shard.cellMap.size()) {
+          BoundingBoxCells.forEach(
+              south, west, north, east, codeLength, cell -> shard.forEachInCell(cell, action));
+        } else {
+          shard.cellMap.forEach(
+              (occupied, head) -> {
+                if (box.containsCell(occupied)) {
+                  shard.forEachInList((int) head, action);
+                }
+              });
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Calls an action with each entity and its cell, in no particular order.
+   *
+   * @param action Called with the id and cell of each entity.
+   */
+  public void forEach(EntityConsumer action) {
+    for (Shard shard : shards) {
+      Lock lock = shard.lock.readLock();
+      lock.lock();
+      try {
+        shard.slots.forEach((entityId, slot) -> action.accept(entityId, shard.cells[(int) slot]));
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private Shard shard(long entityId) {
+    long hash = entityId * 0x9E3779B97F4A7C15L;
+    return shards[(int) (hash >>> 40) & (shards.length - 1)];
+  }
+
+  /** An action on an entity and its cell. */
+  public interface EntityConsumer {
+    void accept(long entityId, long cell);
+  }
+
+  /** The entities with ids in one shard. All fields are guarded by the lock. */
+  private static final class Shard {
+    private static final int NONE = -1;
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // The slot of each entity.
+    final LongLongHashMap slots = new LongLongHashMap();
+    // The first slot in the list of each occupied cell.
+    final LongLongHashMap cellMap = new LongLongHashMap();
+    final LongList freeSlots = new LongList();
+    // The entity and cell of each slot, and the next and previous slots in the list of the cell.
+    long[] entities = new long[16];
+    long[] cells = new long[16];
+    int[] next = new int[16];
+    int[] previous = new int[16];
+    int slotCount;
+
+    boolean update(long entityId, long cell) {
+      Lock readLock = lock.readLock();
+      readLock.lock();
+      try {
+        int slot = (int) slots.get(entityId, NONE);
+        if (slot != NONE && cells[slot] == cell) {
+          return false;
+        }
+      } finally {
+        readLock.unlock();
+      }
+      Lock writeLock = lock.writeLock();
+      writeLock.lock();
+      try {
+        // Another thread may have updated the entity between the locks.
+        int slot = (int) slots.get(entityId, NONE);
+        if (slot == NONE) {
+          slot = allocate(entityId);
+        } else if (cells[slot] == cell) {
+          return false;
+        } else {
+          unlink(slot);
+        }
+        cells[slot] = cell;
+        link(slot);
+        return true;
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    private int allocate(long entityId) {
+      int slot;
+      if (freeSlots.isEmpty()) {
+        slot = slotCount++;
+        if (slot == cells.length) {
+          entities = Arrays.copyOf(entities, slot * 2);
+          cells = Arrays.copyOf(cells, slot * 2);
+          next = Arrays.copyOf(next, slot * 2);
+          previous = Arrays.copyOf(previous, slot * 2);
+        }
+      } else {
+        slot = (int) freeSlots.removeLast();
+      }
+      entities[slot] = entityId;
+      slots.put(entityId, slot);
+      return slot;
+    }
+
+    /** Adds a slot at the start of the list of its cell. */
+    private void link(int slot) {
+      int head = (int) cellMap.get(cells[slot], NONE);
+      next[slot] = head;
+      previous[slot] = NONE;
+      if (head != NONE) {
+        previous[head] = slot;
+      }
+      cellMap.put(cells[slot], slot);
+    }
+
+    /** Removes a slot from the list of its cell. */
+    void unlink(int slot) {
+      int before = previous[slot];
+      int after = next[slot];
+      if (before != NONE) {
+        next[before] = after;
+      } else if (after != NONE) {
+        cellMap.put(cells[slot], after);
+      } else {
+        cellMap.remove(cells[slot], NONE);
+      }
+      if (after != NONE) {
+        previous[after] = before;
+      }
+    }
+
+    void forEachInCell(long cell, LongConsumer action) {
+      forEachInList((int) cellMap.get(cell, NONE), action);
+    }
+
+    void forEachInList(int head, LongConsumer action) {
+      for (int slot = head; slot != NONE; slot = next[slot]) {
+        action.accept(entities[slot]);
+      }
+    }
+  }
+}
@@ -0,0 +1,304 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+/**
+ * An index of codes that finds the codes nearest to a point.
+ *
+ * <p>The codes are grouped into buckets, the cells of a fixed code length containing their centers,
+ * and stored in bucket order with the offset of each bucket. A query visits rings of buckets
+ * outward from the bucket containing the point, keeping the nearest codes found so far in a heap
+ * ordered by distance. It stops when the distance of the farthest of them is less than a lower
+ * bound on the distance to any bucket not yet visited. Distances are great circle distances to the
+ * centers of the codes.
+ *
+ * <p>The bucket length should be chosen so that a bucket holds a few codes: a shorter length makes
+ * buckets with many codes to check, and a longer length makes many empty buckets to visit.
+ * Instances are immutable and thread-safe.
+ */
+public final class NearestCodeIndex {
+
+  /** The default length of the bucket cells, about 5.5 km high. */
+  public static final int DEFAULT_BUCKET_LENGTH = 6;
+
+  private final int bucketLength;
+  // The packed codes of the buckets with codes, in code order.
+  private final long[] buckets;
+  // The position in the codes of the first code of each bucket, and the number of codes at the end.
+  private final int[] offsets;
+  // The codes and the coordinates of their centers, in bucket order.
+  private final long[] codes;
+  private final double[] latitudes;
+  private final double[] longitudes;
+
+  private NearestCodeIndex(long[] cells, int bucketLength) {
+    this.bucketLength = PackedCode.checkLength(bucketLength);
+    int count = cells.length;
+    double[] lats = new double[count];
+    double[] lngs = new double[count];
+    long[] bucketOf = new long[count];
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      PackedCode.checkLength(PackedCode.length(cells[i]));
+      CodeArea area = PackedCode.decode(cells[i]);
+      lats[i] = area.getCenterLatitude();
+      lngs[i] = area.getCenterLongitude();
+      bucketOf[i] = PackedCode.encode(lats[i], lngs[i], bucketLength);
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(bucketOf[a], bucketOf[b]));
+    this.codes = new long[count];
+    this.latitudes = new double[count];
+    this.longitudes = new double[count];
+    LongList bucketList = new LongList();
+    int[] starts = new int[count + 1];
+    int bucketCount = 0;
+    for (int i = 0; i < count; i++) {
+      int entry = order[i];
+      codes[i] = cells[entry];
+      latitudes[i] = lats[entry];
+      longitudes[i] = lngs[entry];
+      if (bucketCount == 0 || bucketList.get(bucketCount - 1) != bucketOf[entry]) {
+        bucketList.add(bucketOf[entry]);
+        starts[bucketCount++] = i;
+      }
+    }
+    starts[bucketCount] = count;
+    this.buckets = bucketList.toArray();
+    this.offsets = Arrays.copyOf(starts, bucketCount + 1);
+  }
+
+  /**
+   * Creates an index of packed codes with the default bucket length.
+   *
+   * @param cells The packed codes, in any order. Duplicates are kept.
+   * @return The index.
+   * @throws IllegalArgumentException if a packed code is not valid.
+   */
+  public static NearestCodeIndex of(long... cells) {
+    return of(cells, DEFAULT_BUCKET_LENGTH);
+  }
+
+  /**
+   * Creates an index of packed codes.
+   *
+   * @param cells The packed codes, in any order. Duplicates are kept.
+   * @param bucketLength The code length of the buckets.
+   * @return The index.
+   * @throws IllegalArgumentException if a packed code or the bucket length is not valid.
+   */
+  public static NearestCodeIndex of(long[] cells, int bucketLength) {
+    return new NearestCodeIndex(cells, bucketLength);
+  }
+
+  /**
+   * Creates an index of codes with the default bucket length.
+   *
+   * @param codes Full Open Location Codes.
+   * @return The index.
+   * @throws IllegalArgumentException if a code is not a valid full code.
+   */
+  public static NearestCodeIndex fromCodes(Iterable<? extends CharSequence> codes) {
+    LongList cells = new LongList();
+    for (CharSequence code : codes) {
+      cells.add(PackedCode.pack(code));
+    }
+    return of(cells.toArray());
+  }
+
+  /** Returns the number of codes in the index. */
+  public int size() {
+    return codes.length;
+  }
+
+  /**
+   * Returns the codes nearest to a point.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param k The number of codes to return.
+   * @return The packed codes of the k codes nearest to the point, or all the codes if there are
+   *     fewer, from the nearest.
+   * @throws IllegalArgumentException if k is negative.
+   */
+  public long[] nearest(double latitude, double longitude, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid number of codes " + k);
+    }
+    NearestHeap heap = new NearestHeap(Math.min(k, codes.length));
+    if (k >= codes.length) {
+      // Every code is returned, so there is nothing to search for.
+      for (int i = 0; i < codes.length; i++) {
+        heap.offer(distance(latitude, longitude, i), codes[i]);
+      }
+      return heap.toSortedArray();
+    }
+    if (k == 0) {
+      return new long[0];
+    }
+    long center = PackedCode.encode(latitude, longitude, bucketLength);
+    long centerRow = PackedCode.latitudeIndex(center);
+    long centerColumn = PackedCode.longitudeIndex(center);
+    long gridRows = PackedCode.latitudeCells(bucketLength);
+    long gridColumns = PackedCode.longitudeCells(bucketLength);
+    for (int ring = 0; ; ring++) {
+      PrimitiveIterator.OfLong cells = GridNeighbors.ring(center, ring);
+      while (cells.hasNext()) {
+        int bucket = Arrays.binarySearch(buckets, cells.nextLong());
+        if (bucket >= 0) {
+          for (int i = offsets[bucket]; i < offsets[bucket + 1]; i++) {
+            heap.offer(distance(latitude, longitude, i), codes[i]);
+          }
+        }
+      }
+      boolean allRows = centerRow - ring <= 0 && centerRow + ring >= gridRows - 1;
+      boolean allColumns = 2L * ring + 1 >= gridColumns;
+      if (allRows && allColumns) {
+        break;
+      }
+      if (heap.isFull()
+          && heap.maxDistance()
+              <= unvisitedDistance(latitude, longitude, centerRow, centerColumn, ring)) {
+        break;
+      }
+    }
+    return heap.toSortedArray();
+  }
+
+  private double distance(double latitude, double longitude, int entry) {
+    return Circle.distanceMeters(latitude, longitude, latitudes[entry], longitudes[entry]);
+  }
+
+  /**
+   * Returns a lower bound on the distance in meters from a point to the buckets outside the square
+   * of rings around the bucket containing it. Any such bucket is beyond one of the edges of the
+   * square, so the bound is the distance to the nearest edge.
+   */
+  private double unvisitedDistance(
+      double latitude, double longitude, long centerRow, long centerColumn, int ring) {
+    long latSize = PackedCode.latitudeCellSize(bucketLength);
+    long lngSize = PackedCode.longitudeCellSize(bucketLength);
+    double bound = Double.POSITIVE_INFINITY;
+    if (centerRow + ring + 1 < PackedCode.latitudeCells(bucketLength)) {
+      double north = latitudeDegrees((centerRow + ring + 1) * latSize);
+      bound = Math.min(bound, Math.toRadians(north - latitude));
+    }
+    if (centerRow - ring > 0) {
+      double south = latitudeDegrees((centerRow - ring) * latSize);
+      bound = Math.min(bound, Math.toRadians(latitude - south));
+    }
+    if (2L * ring + 1 < PackedCode.longitudeCells(bucketLength)) {
+      double west = longitudeDegrees((centerColumn - ring) * lngSize);
+      double east = longitudeDegrees((centerColumn + ring + 1) * lngSize);
+      bound = Math.min(bound, meridianAngle(latitude, longitude - west));
+      bound = Math.min(bound, meridianAngle(latitude, east - longitude));
+    }
+    return bound * Circle.EARTH_RADIUS_METERS;
+  }
+
+  /**
+   * Returns the angular distance in radians from a point to a meridian, from pole to pole, a number
+   * of degrees of longitude away.
+   */
+  private static double meridianAngle(double latitude, double deltaLongitude) {
+    double phi = Math.toRadians(latitude);
+    if (deltaLongitude >= 90) {
+      // The nearest point of the meridian is a pole.
+      return Math.PI / 2 - Math.abs(phi);
+    }
+    return Math.asin(Math.sin(Math.toRadians(deltaLongitude)) * Math.cos(phi));
+  }
+
+  private static double latitudeDegrees(long latitude) {
+    return (double) latitude / OpenLocationCode.LAT_INTEGER_MULTIPLIER
+        - OpenLocationCode.LATITUDE_MAX;
+  }
+
+  private static double longitudeDegrees(long longitude) {
+    return (double) longitude / OpenLocationCode.LNG_INTEGER_MULTIPLIER
+        - OpenLocationCode.LONGITUDE_MAX;
+  }
+
+  /** A heap of the nearest codes found, with the farthest at the root. */
+  private static final class NearestHeap {
+    private final double[] distances;
+    private final long[] codes;
+    private int size;
+
+    NearestHeap(int capacity) {
+      this.distances = new double[capacity];
+      this.codes = new long[capacity];
+    }
+
+    boolean isFull() {
+      return size == distances.length;
+    }
+
+    double maxDistance() {
+      return distances[0];
+    }
+
+    /** Adds a code if the heap is not full or it is nearer than the farthest code. */
+    void offer(double distance, long code) {
+      if (size < distances.length) {
+        int i = size++;
+        while (i > 0 && distances[(i - 1) / 2] < distance) {
+          distances[i] = distances[(i - 1) / 2];
+          codes[i] = codes[(i - 1) / 2];
+          i = (i - 1) / 2;
+        }
+        distances[i] = distance;
+        codes[i] = code;
+      } else if (size > 0 && distance < distances[0]) {
+        siftDown(distance, code, size);
+      }
+    }
+
+    /** Replaces the root with a code and moves it down the first entries of the heap. */
+    private void siftDown(double distance, long code, int limit) {
+      int i = 0;
+      while (2 * i + 1 < limit) {
+        int child = 2 * i + 1;
+        if (child + 1 < limit && distances[child + 1] > distances[child]) {
+          child++;
+        }
+        if (distances[child] <= distance) {
+          break;
+        }
+        distances[i] = distances[child];
+        codes[i] = codes[child];
+        i = child;
+      }
+      distances[i] = distance;
+      codes[i] = code;
+    }
+
+    /** Returns the codes from the nearest, emptying the heap. */
+    long[] toSortedArray() {
+      long[] result = new long[size];
+      for (int last = size - 1; last >= 0; last--) {
+        result[last] = codes[0];
+        siftDown(distances[last], codes[last], last);
+      }
+      size = 0;
+      return result;
+    }
+  }
+}
@@ -0,0 +1,232 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+/**
+ * A table of packed codes and their bounds stored outside of the Java heap.
+ *
+ * <p>Each row holds a packed code (see {@link PackedCode}) together with the south, west, north and
+ * east edges of its area, in the integer units used by {@link OpenLocationCode#degreesToIntegers}.
+ * Rows are stored in direct byte buffers allocated in fixed size chunks, so very large tables do
+ * not add to the garbage collected heap and bounding box scans do not need to decode codes.
+ *
+ * <p>Rows are appended and never removed. The table is not thread-safe.
+ */
+public final class OffHeapCodeTable {
+
+  // Number of bytes used by each row: the packed code and four bounds.
+  private static final int ROW_BYTES = 5 * Long.BYTES;
+
+  // Offsets of the fields within a row.
+  private static final int CODE_OFFSET = 0;
+  private static final int SOUTH_OFFSET = Long.BYTES;
+  private static final int WEST_OFFSET = 2 * Long.BYTES;
+  private static final int NORTH_OFFSET = 3 * Long.BYTES;
+  private static final int EAST_OFFSET = 4 * Long.BYTES;
+
+  // Default number of rows in each chunk, 40 MiB per chunk.
+  private static final int DEFAULT_CHUNK_ROWS = 1 << 20;
+
+  private final int chunkRows;
+  private ByteBuffer[] chunks = new ByteBuffer[0];
+  private long size;
+
+  /** Creates an empty table using the default chunk size. */
+  public OffHeapCodeTable() {
+    this(DEFAULT_CHUNK_ROWS);
+  }
+
+  /**
+   * Creates an empty table.
+   *
+   * @param chunkRows The number of rows to allocate at a time.
+   * @throws IllegalArgumentException if the chunk size is not positive or too large for a buffer.
+   */
+  public OffHeapCodeTable(int chunkRows) {
+    if (chunkRows <= 0 || chunkRows > Integer.MAX_VALUE / ROW_BYTES) {
+      throw new IllegalArgumentException("Illegal chunk size " + chunkRows);
+    }
+    this.chunkRows = chunkRows;
+  }
+
+  /**
+   * Returns the number of rows in the table.
+   *
+   * @return The number of rows.
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Appends a packed code to the table.
+   *
+   * @param packedCode A packed code.
+   * @return The row number of the code.
+   * @throws IllegalArgumentException if the packed code is not valid.
+   */
+  public long add(long packedCode) {
+    int length = PackedCode.checkLength(PackedCode.length(packedCode));
+    long row = size;
+    if (row == (long) chunks.length * chunkRows) {
+      chunks = Arrays.copyOf(chunks, chunks.length + 1);
+      chunks[chunks.length - 1] =
+          ByteBuffer.allocateDirect(chunkRows * ROW_BYTES).order(ByteOrder.nativeOrder());
+    }
+    ByteBuffer chunk = chunk(row);
+    int offset = offset(row);
+    long south = PackedCode.southInteger(packedCode);
+    long west = PackedCode.westInteger(packedCode);
+    chunk.putLong(offset + CODE_OFFSET, packedCode);
+    chunk.putLong(offset + SOUTH_OFFSET, south);
+    chunk.putLong(offset + WEST_OFFSET, west);
+    chunk.putLong(offset + NORTH_OFFSET, south + PackedCode.latitudeCellSize(length));
+    chunk.putLong(offset + EAST_OFFSET, west + PackedCode.longitudeCellSize(length));
+    size++;
+    return row;
+  }
+
+  /**
+   * Encodes locations and appends their codes to the table.
+   *
+   * @param latitudes The latitudes in decimal degrees.
+   * @param longitudes The longitudes in decimal degrees, in the same order as the latitudes.
+   * @param codeLength The number of digits in the codes.
+   * @throws IllegalArgumentException if the arrays have different lengths or the code length is not
+   *     valid.
+   */
+  public void addAll(double[] latitudes, double[] longitudes, int codeLength) {
+    if (latitudes.length != longitudes.length) {
+      throw new IllegalArgumentException("Latitude and longitude arrays have different lengths.");
+    }
+    for (int i = 0; i < latitudes.length; i++) {
+      add(PackedCode.encode(latitudes[i], longitudes[i], codeLength));
+    }
+  }
+
+  /**
+   * Encodes locations and appends their codes to the table.
+   *
+   * @param coordinates Alternating latitudes and longitudes in decimal degrees.
+   * @param codeLength The number of digits in the codes.
+   * @throws IllegalArgumentException if the array has an odd length or the code length is not
+   *     valid.
+   */
+  public void addAll(double[] coordinates, int codeLength) {
+    if (coordinates.length % 2 != 0) {
+      throw new IllegalArgumentException("Coordinate array must have an even length.");
+    }
+    for (int i = 0; i < coordinates.length; i += 2) {
+      add(PackedCode.encode(coordinates[i], coordinates[i + 1], codeLength));
+    }
+  }
+
+  /**
+   * Returns the packed code stored in a row.
+   *
+   * @param row The row number.
+   * @return The packed code.
+   * @throws IndexOutOfBoundsException if the row does not exist.
+   */
+  public long getCode(long row) {
+    return get(row, CODE_OFFSET);
+  }
+
+  /**
+   * Returns the area of the code stored in a row.
+   *
+   * @param row The row number.
+   * @return A CodeArea object.
+   * @throws IndexOutOfBoundsException if the row does not exist.
+   */
+  public CodeArea getArea(long row) {
+    return PackedCode.decode(getCode(row));
+  }
+
+  /**
+   * Finds the rows whose code areas intersect a bounding box. If the west longitude is greater than
+   * the east longitude once both are normalised, the bounding box crosses the antimeridian.
+   *
+   * @param south The southern edge of the box in decimal degrees.
+   * @param west The western edge of the box in decimal degrees.
+   * @param north The northern edge of the box in decimal degrees.
+   * @param east The eastern edge of the box in decimal degrees.
+   * @param rows Receives the matching row numbers, in increasing order.
+   * @return The number of matching rows.
+   */
+  public long scan(double south, double west, double north, double east, LongConsumer rows) {
+    long southInteger = OpenLocationCode.latitudeToInteger(south);
+    long northInteger = OpenLocationCode.latitudeToInteger(north);
+    long westInteger = OpenLocationCode.longitudeToInteger(west);
+    long eastInteger = OpenLocationCode.longitudeToInteger(east);
+    if (east - west >= 2 * OpenLocationCode.LONGITUDE_MAX) {
+      // The box covers all longitudes.
+      westInteger = 0;
+      eastInteger = PackedCode.LNG_INTEGER_RANGE - 1;
+    }
+    boolean wraps = westInteger > eastInteger;
+    long matches = 0;
+    for (int c = 0; c < chunks.length; c++) {
+      ByteBuffer chunk = chunks[c];
+      long firstRow = (long) c * chunkRows;
+      int rowCount = (int) Math.min(chunkRows, size - firstRow);
+      for (int i = 0; i < rowCount; i++) {
+        int offset = i * ROW_BYTES;
+        if (chunk.getLong(offset + SOUTH_OFFSET) > northInteger
+            || chunk.getLong(offset + NORTH_OFFSET) <= southInteger) {
+          continue;
+        }
+        boolean afterWest = chunk.getLong(offset + EAST_OFFSET) > westInteger;
+        boolean beforeEast = chunk.getLong(offset + WEST_OFFSET) <= eastInteger;
+        if (wraps ? afterWest || beforeEast : afterWest && beforeEast) {
+          rows.accept(firstRow + i);
+          matches++;
+        }
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Removes all rows. The table drops its buffers, and their memory is released when the garbage
+   * collector frees them.
+   */
+  public void clear() {
+    chunks = new ByteBuffer[0];
+    size = 0;
+  }
+
+  private long get(long row, int field) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " is not in the table.");
+    }
+    return chunk(row).getLong(offset(row) + field);
+  }
+
+  private ByteBuffer chunk(long row) {
+    return chunks[(int) (row / chunkRows)];
+  }
+
+  private int offset(long row) {
+    return (int) (row % chunkRows) * ROW_BYTES;
+  }
+}
@@ -55,7 +55,7 @@ public final class OpenLocationCode {
   public static final char PADDING_CHARACTER = '0';
 
   // The number of characters to place before the separator.
-  private static final int SEPARATOR_POSITION = 8;
+  static final int SEPARATOR_POSITION = 8;
 
   // The minimum number of digits in a Plus Code.
   public static final int MIN_DIGIT_COUNT = 2;
@@ -64,33 +64,33 @@ public final class OpenLocationCode {
   public static final int MAX_DIGIT_COUNT = 15;
 
   // Maximum code length using just lat/lng pair encoding.
-  private static final int PAIR_CODE_LENGTH = 10;
+  static final int PAIR_CODE_LENGTH = 10;
 
   // Number of digits in the grid coding section.
-  private static final int GRID_CODE_LENGTH = MAX_DIGIT_COUNT - PAIR_CODE_LENGTH;
+  static final int GRID_CODE_LENGTH = MAX_DIGIT_COUNT - PAIR_CODE_LENGTH;
 
   // The base to use to convert numbers to/from.
-  private static final int ENCODING_BASE = CODE_ALPHABET.length();
+  static final int ENCODING_BASE = CODE_ALPHABET.length();
 
   // The maximum value for latitude in degrees.
-  private static final long LATITUDE_MAX = 90;
+  static final long LATITUDE_MAX = 90;
 
   // The maximum value for longitude in degrees.
-  private static final long LONGITUDE_MAX = 180;
+  static final long LONGITUDE_MAX = 180;
 
   // Number of columns in the grid refinement method.
-  private static final int GRID_COLUMNS = 4;
+  static final int GRID_COLUMNS = 4;
 
   // Number of rows in the grid refinement method.
-  private static final int GRID_ROWS = 5;
+  static final int GRID_ROWS = 5;
 
   // Value to multiple latitude degrees to convert it to an integer with the maximum encoding
   // precision. I.e. ENCODING_BASE**3 * GRID_ROWS**GRID_CODE_LENGTH
-  private static final long LAT_INTEGER_MULTIPLIER = 8000 * 3125;
+  static final long LAT_INTEGER_MULTIPLIER = 8000 * 3125;
 
   // Value to multiple longitude degrees to convert it to an integer with the maximum encoding
   // precision. I.e. ENCODING_BASE**3 * GRID_COLUMNS**GRID_CODE_LENGTH
-  private static final long LNG_INTEGER_MULTIPLIER = 8000 * 1024;
+  static final long LNG_INTEGER_MULTIPLIER = 8000 * 1024;
 
   // Value of the most significant latitude digit after it has been converted to an integer.
   private static final long LAT_MSP_VALUE = LAT_INTEGER_MULTIPLIER * ENCODING_BASE * ENCODING_BASE;
@@ -209,6 +209,10 @@ public final class OpenLocationCode {
     if (codeLength < PAIR_CODE_LENGTH && codeLength % 2 == 1 || codeLength < MIN_DIGIT_COUNT) {
       throw new IllegalArgumentException("Illegal code length " + codeLength);
     }
+    // Coarse codes are looked up in a shared table.
+    if (codeLength <= CoarseCodeTable.MAX_LENGTH) {
+      return CoarseCodeTable.encode(lat, lng, codeLength);
+    }
 
     // Store the code - we build it in reverse and reorder it afterwards.
     StringBuilder revCodeBuilder = new StringBuilder();
@@ -304,6 +308,10 @@ public final class OpenLocationCode {
       throw new IllegalStateException(
           "Method decode() could only be called on valid full codes, code was " + code + ".");
     }
+    CodeArea coarseArea = CoarseCodeTable.decode(code);
+    if (coarseArea != null) {
+      return coarseArea;
+    }
     // Strip padding and separator characters out of the code.
     String clean =
         code.replace(String.valueOf(SEPARATOR), "").replace(String.valueOf(PADDING_CHARACTER), "");
@@ -665,16 +673,48 @@ public final class OpenLocationCode {
    * @return A list of [latitude, longitude] in clipped, normalised integer values.
    */
   static long[] degreesToIntegers(double latitude, double longitude) {
-    long lat = (long) Math.floor(latitude * LAT_INTEGER_MULTIPLIER);
-    long lng = (long) Math.floor(longitude * LNG_INTEGER_MULTIPLIER);
+    return new long[] {latitudeToInteger(latitude), longitudeToInteger(longitude)};
+  }
 
-    // Clip and normalise values.
+  /**
+   * Convert a latitude in degrees into the clipped, positive integer value used for encoding.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @return The latitude as a positive integer.
+   */
+  static long latitudeToInteger(double latitude) {
+    return clipLatitudeInteger((long) Math.floor(latitude * LAT_INTEGER_MULTIPLIER));
+  }
+
+  /**
+   * Convert a longitude in degrees into the normalised, positive integer value used for encoding.
+   *
+   * @param longitude The longitude in decimal degrees.
+   * @return The longitude as a positive integer.
+   */
+  static long longitudeToInteger(double longitude) {
+    return normalizeLongitudeInteger((long) Math.floor(longitude * LNG_INTEGER_MULTIPLIER));
+  }
+
+  /**
+   * Shift a signed latitude integer (degrees multiplied by LAT_INTEGER_MULTIPLIER) into the
+   * positive range used for encoding and clip it to the valid range.
+   */
+  static long clipLatitudeInteger(long lat) {
     lat += LATITUDE_MAX * LAT_INTEGER_MULTIPLIER;
     if (lat < 0) {
       lat = 0;
     } else if (lat >= 2 * LATITUDE_MAX * LAT_INTEGER_MULTIPLIER) {
       lat = 2 * LATITUDE_MAX * LAT_INTEGER_MULTIPLIER - 1;
     }
+    return lat;
+  }
+
+  /**
+   * Shift a signed longitude integer (degrees multiplied by LNG_INTEGER_MULTIPLIER) into the
+   * positive range used for encoding and normalise it to the valid range.
+   */
+  static long normalizeLongitudeInteger(long lng) {
     lng += LONGITUDE_MAX * LNG_INTEGER_MULTIPLIER;
     if (lng < 0) {
       lng =
@@ -683,7 +723,7 @@ public final class OpenLocationCode {
     } else if (lng >= 2 * LONGITUDE_MAX * LNG_INTEGER_MULTIPLIER) {
       lng = lng % (2 * LONGITUDE_MAX * LNG_INTEGER_MULTIPLIER);
     }
-    return new long[] {lat, lng};
+    return lng;
   }
 
   private static double clipLatitude(double latitude) {
@@ -0,0 +1,620 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+/**
+ * Represent full Open Location Codes as primitive {@code long} values.
+ *
+ * <p>A packed code stores the digits of a full code in fixed bit fields, most significant digit
+ * first, followed by the code length in the lowest four bits. The first pair of digits uses 8 bits,
+ * each following pair 9 bits and each grid digit 5 bits, which allows codes of up to {@link
+ * #MAX_DIGIT_COUNT} digits to be stored in a positive {@code long}.
+ *
+ * <p>Because of this layout, packed codes sort in the same order as the code strings, a code sorts
+ * immediately before all the codes it contains, and a code of a shorter length can be obtained by
+ * masking off the trailing fields.
+ *
+ * <p>Packed codes avoid the string building, validation and object allocation of {@link
+ * OpenLocationCode} and are intended for bulk processing and in-memory indexes.
+ */
+public final class PackedCode {
+
+  // The maximum number of digits that can be stored in a packed code.
+  public static final int MAX_DIGIT_COUNT = 13;
+
+  // Value used by methods returning a packed code to indicate that there is no code. Valid packed
+  // codes are never zero, since the length field is always set.
+  public static final long NO_CODE = 0;
+
+  // Number of bits used to store the code length.
+  private static final int LENGTH_BITS = 4;
+
+  private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+  // Number of digit fields (pairs up to the pair code length, single digits after that).
+  private static final int LEVEL_COUNT =
+      OpenLocationCode.PAIR_CODE_LENGTH / 2 + MAX_DIGIT_COUNT - OpenLocationCode.PAIR_CODE_LENGTH;
+
+  // Number of latitude values in each field. The first pair only covers 180 degrees of latitude and
+  // the grid digits use GRID_ROWS values.
+  private static final int[] LEVEL_LAT_RADIX = {9, 20, 20, 20, 20, 5, 5, 5};
+
+  // Number of longitude values in each field. The first pair only covers 360 degrees of longitude
+  // and the grid digits use GRID_COLUMNS values.
+  private static final int[] LEVEL_LNG_RADIX = {18, 20, 20, 20, 20, 4, 4, 4};
+
+  // Number of bits used by each field.
+  private static final int[] LEVEL_BITS = {8, 9, 9, 9, 9, 5, 5, 5};
+
+  // Position of the lowest bit of each field.
+  private static final int[] LEVEL_SHIFT = new int[LEVEL_COUNT];
+
+  // Number of latitude rows and longitude columns in the grid for each code length.
+  private static final long[] LAT_CELLS = new long[MAX_DIGIT_COUNT + 1];
+  private static final long[] LNG_CELLS = new long[MAX_DIGIT_COUNT + 1];
+
+  // Height and width of a cell for each code length, in the units used by degreesToIntegers().
+  private static final long[] LAT_CELL_SIZE = new long[MAX_DIGIT_COUNT + 1];
+  private static final long[] LNG_CELL_SIZE = new long[MAX_DIGIT_COUNT + 1];
+
+  // Range of the latitude and longitude integers.
+  static final long LAT_INTEGER_RANGE =
+      2 * OpenLocationCode.LATITUDE_MAX * OpenLocationCode.LAT_INTEGER_MULTIPLIER;
+  static final long LNG_INTEGER_RANGE =
+      2 * OpenLocationCode.LONGITUDE_MAX * OpenLocationCode.LNG_INTEGER_MULTIPLIER;
+
+  // Lookup table from characters to their position in the alphabet, -1 for invalid characters.
+  private static final byte[] DIGIT_VALUES = new byte[128];
+
+  static {
+    int shift = Long.SIZE - 1;
+    for (int level = 0; level < LEVEL_COUNT; level++) {
+      shift -= LEVEL_BITS[level];
+      LEVEL_SHIFT[level] = shift;
+    }
+    for (int length = OpenLocationCode.MIN_DIGIT_COUNT; length <= MAX_DIGIT_COUNT; length++) {
+      long latCells = 1;
+      long lngCells = 1;
+      for (int level = 0; level < levels(length); level++) {
+        latCells *= LEVEL_LAT_RADIX[level];
+        lngCells *= LEVEL_LNG_RADIX[level];
+      }
+      LAT_CELLS[length] = latCells;
+      LNG_CELLS[length] = lngCells;
+      LAT_CELL_SIZE[length] = LAT_INTEGER_RANGE / latCells;
+      LNG_CELL_SIZE[length] = LNG_INTEGER_RANGE / lngCells;
+    }
+    Arrays.fill(DIGIT_VALUES, (byte) -1);
+    for (int i = 0; i < OpenLocationCode.CODE_ALPHABET.length(); i++) {
+      DIGIT_VALUES[OpenLocationCode.CODE_ALPHABET.charAt(i)] = (byte) i;
+      DIGIT_VALUES[Character.toLowerCase(OpenLocationCode.CODE_ALPHABET.charAt(i))] = (byte) i;
+    }
+  }
+
+  private PackedCode() {}
+
+  /**
+   * Encodes latitude/longitude into a packed code of the provided length.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @param codeLength The number of digits in the code. Lengths above {@link #MAX_DIGIT_COUNT} are
+   *     reduced to it.
+   * @return The packed code.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  public static long encode(double latitude, double longitude, int codeLength) {
+    return encodeIntegers(
+        OpenLocationCode.latitudeToInteger(latitude),
+        OpenLocationCode.longitudeToInteger(longitude),
+        codeLength);
+  }
+
+  /**
+   * Encodes a location specified with the integer values used by {@link
+   * OpenLocationCode#degreesToIntegers} into a packed code.
+   *
+   * @param lat The latitude as a positive integer.
+   * @param lng The longitude as a positive integer.
+   * @param codeLength The number of digits in the code.
+   * @return The packed code.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  static long encodeIntegers(long lat, long lng, int codeLength) {
+    codeLength = checkLength(Math.min(codeLength, MAX_DIGIT_COUNT));
+    return fromIndices(
+        lat / LAT_CELL_SIZE[codeLength], lng / LNG_CELL_SIZE[codeLength], codeLength);
+  }
+
+  /**
+   * Encodes a new location of a point, given the packed code of its previous location. The result
+   * is the same as {@link #encode} with the length of the previous code, but the point is first
+   * tested against the previous cell, and only the digits that change are computed. For a point
+   * that moves a short distance, that is usually the last one or two digits.
+   *
+   * @param previous The packed code of the previous location.
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   * @return The packed code of the new location, which is the previous code if the point is still
+   *     in its cell.
+   * @throws IllegalArgumentException if the previous code is not valid.
+   */
+  public static long reencode(long previous, double latitude, double longitude) {
+    int codeLength = checkLength(length(previous));
+    int levels = levels(codeLength);
+    long newRow = OpenLocationCode.latitudeToInteger(latitude) / LAT_CELL_SIZE[codeLength];
+    long newColumn = OpenLocationCode.longitudeToInteger(longitude) / LNG_CELL_SIZE[codeLength];
+    long row = 0;
+    long column = 0;
+    for (int level = 0; level < levels; level++) {
+      int field = field(previous, level);
+      row = row * LEVEL_LAT_RADIX[level] + field / LEVEL_LNG_RADIX[level];
+      column = column * LEVEL_LNG_RADIX[level] + field % LEVEL_LNG_RADIX[level];
+    }
+    return moveTo(previous, row, column, newRow, newColumn);
+  }
+
+  /**
+   * Returns the packed code of another cell of the same length. Digits are replaced from the last
+   * one until the rest of the rows and columns are the same, so the digits that do not change are
+   * not computed.
+   *
+   * @param packed A packed code.
+   * @param row The row of the packed code in the grid for its length.
+   * @param column The column of the packed code in the grid for its length.
+   * @param newRow The row of the other cell.
+   * @param newColumn The column of the other cell.
+   * @return The packed code of the other cell.
+   */
+  static long moveTo(long packed, long row, long column, long newRow, long newColumn) {
+    for (int level = levels(length(packed)) - 1; row != newRow || column != newColumn; level--) {
+      long latRadix = LEVEL_LAT_RADIX[level];
+      long lngRadix = LEVEL_LNG_RADIX[level];
+      long field = newRow % latRadix * lngRadix + newColumn % lngRadix;
+      long mask = (1L << LEVEL_BITS[level]) - 1 << LEVEL_SHIFT[level];
+      packed = packed & ~mask | field << LEVEL_SHIFT[level];
+      row /= latRadix;
+      column /= lngRadix;
+      newRow /= latRadix;
+      newColumn /= lngRadix;
+    }
+    return packed;
+  }
+
+  /**
+   * Returns the packed code of the cell in the given row and column of the grid for a code length.
+   * Rows are counted northwards from the south pole, columns eastwards from the antimeridian.
+   *
+   * @param latIndex The row of the cell, between 0 and {@link #latitudeCells} - 1.
+   * @param lngIndex The column of the cell, between 0 and {@link #longitudeCells} - 1.
+   * @param codeLength The number of digits in the code.
+   * @return The packed code.
+   */
+  static long fromIndices(long latIndex, long lngIndex, int codeLength) {
+    long packed = codeLength;
+    for (int level = levels(codeLength) - 1; level >= 0; level--) {
+      long latDigit = latIndex % LEVEL_LAT_RADIX[level];
+      long lngDigit = lngIndex % LEVEL_LNG_RADIX[level];
+      packed |= (latDigit * LEVEL_LNG_RADIX[level] + lngDigit) << LEVEL_SHIFT[level];
+      latIndex /= LEVEL_LAT_RADIX[level];
+      lngIndex /= LEVEL_LNG_RADIX[level];
+    }
+    return packed;
+  }
+
+  /**
+   * Packs a full Open Location Code. Digits after {@link #MAX_DIGIT_COUNT} are ignored, in the same
+   * way that {@link OpenLocationCode#decode()} ignores digits after {@link
+   * OpenLocationCode#MAX_DIGIT_COUNT}.
+   *
+   * @param code A full Open Location Code, in upper or lower case.
+   * @return The packed code.
+   * @throws IllegalArgumentException if the code is not a valid full code.
+   */
+  public static long pack(CharSequence code) {
+    long packed = tryPack(code, 0, code.length());
+    if (packed == NO_CODE) {
+      throw new IllegalArgumentException(
+          "The provided code '" + code + "' is not a valid full Open Location Code.");
+    }
+    return packed;
+  }
+
+  /**
+   * Packs the full Open Location Code between two positions of a character sequence, returning
+   * {@link #NO_CODE} instead of throwing an exception if it is not valid.
+   *
+   * @param text The text containing the code.
+   * @param start The position of the first character of the code.
+   * @param end The position after the last character of the code.
+   * @return The packed code, or {@link #NO_CODE} if the text is not a valid full code.
+   */
+  public static long tryPack(CharSequence text, int start, int end) {
+    int length = end - start;
+    if (length <= OpenLocationCode.SEPARATOR_POSITION
+        || text.charAt(start + OpenLocationCode.SEPARATOR_POSITION) != OpenLocationCode.SEPARATOR) {
+      return NO_CODE;
+    }
+    // Only one character after the separator is forbidden.
+    if (length == OpenLocationCode.SEPARATOR_POSITION + 2) {
+      return NO_CODE;
+    }
+    int digitCount = 0;
+    boolean paddingStarted = false;
+    long packed = 0;
+    int level = 0;
+    int latDigit = 0;
+    for (int i = 0; i < length; i++) {
+      if (i == OpenLocationCode.SEPARATOR_POSITION) {
+        continue;
+      }
+      char c = text.charAt(start + i);
+      if (c == OpenLocationCode.PADDING_CHARACTER && i < OpenLocationCode.SEPARATOR_POSITION) {
+        // Padding can start on even character: 2, 4 or 6.
+        if (!paddingStarted && (i == 0 || i % 2 != 0)) {
+          return NO_CODE;
+        }
+        paddingStarted = true;
+        continue;
+      }
+      int value = c < DIGIT_VALUES.length ? DIGIT_VALUES[c] : -1;
+      if (value < 0 || paddingStarted) {
+        // Invalid character, or a digit after padding.
+        return NO_CODE;
+      }
+      digitCount++;
+      if (digitCount > MAX_DIGIT_COUNT) {
+        continue;
+      }
+      if (digitCount <= OpenLocationCode.PAIR_CODE_LENGTH && digitCount % 2 == 1) {
+        latDigit = value;
+        continue;
+      }
+      if (level == 0 && (latDigit >= LEVEL_LAT_RADIX[0] || value >= LEVEL_LNG_RADIX[0])) {
+        // The first latitude and longitude digits are limited to the globe.
+        return NO_CODE;
+      }
+      long fieldValue =
+          digitCount <= OpenLocationCode.PAIR_CODE_LENGTH
+              ? latDigit * LEVEL_LNG_RADIX[level] + value
+              : value;
+      packed |= fieldValue << LEVEL_SHIFT[level];
+      level++;
+    }
+    return packed | Math.min(digitCount, MAX_DIGIT_COUNT);
+  }
+
+  /**
+   * Returns the Open Location Code string for a packed code.
+   *
+   * @param packed A packed code.
+   * @return The code, padded if it has fewer than eight digits.
+   */
+  public static String toCode(long packed) {
+    int length = length(packed);
+    char[] chars = new char[Math.max(OpenLocationCode.SEPARATOR_POSITION + 1, length + 1)];
+    int pos = 0;
+    for (int level = 0; level < levels(length); level++) {
+      int value = field(packed, level);
+      if (level < OpenLocationCode.PAIR_CODE_LENGTH / 2) {
+        chars[pos++] = OpenLocationCode.CODE_ALPHABET.charAt(value / LEVEL_LNG_RADIX[level]);
+        chars[pos++] = OpenLocationCode.CODE_ALPHABET.charAt(value % LEVEL_LNG_RADIX[level]);
+      } else {
+        chars[pos++] = OpenLocationCode.CODE_ALPHABET.charAt(value);
+      }
+      if (pos == OpenLocationCode.SEPARATOR_POSITION) {
+        chars[pos++] = OpenLocationCode.SEPARATOR;
+      }
+    }
+    while (pos < OpenLocationCode.SEPARATOR_POSITION) {
+      chars[pos++] = OpenLocationCode.PADDING_CHARACTER;
+    }
+    if (pos == OpenLocationCode.SEPARATOR_POSITION) {
+      chars[pos] = OpenLocationCode.SEPARATOR;
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Returns the number of digits in a packed code.
+   *
+   * @param packed A packed code.
+   * @return The code length.
+   */
+  public static int length(long packed) {
+    return (int) (packed & LENGTH_MASK);
+  }
+
+  /**
+   * Decodes a packed code into a {@link CodeArea}. The result is identical to decoding the code
+   * string with {@link OpenLocationCode#decode(String)}.
+   *
+   * @param packed A packed code.
+   * @return A CodeArea object.
+   */
+  public static CodeArea decode(long packed) {
+    int length = length(packed);
+    long south =
+        southInteger(packed)
+            - OpenLocationCode.LATITUDE_MAX * OpenLocationCode.LAT_INTEGER_MULTIPLIER;
+    long west =
+        westInteger(packed)
+            - OpenLocationCode.LONGITUDE_MAX * OpenLocationCode.LNG_INTEGER_MULTIPLIER;
+    return new CodeArea(
+        (double) south / OpenLocationCode.LAT_INTEGER_MULTIPLIER,
+        (double) west / OpenLocationCode.LNG_INTEGER_MULTIPLIER,
+        (double) (south + LAT_CELL_SIZE[length]) / OpenLocationCode.LAT_INTEGER_MULTIPLIER,
+        (double) (west + LNG_CELL_SIZE[length]) / OpenLocationCode.LNG_INTEGER_MULTIPLIER,
+        length);
+  }
+
+  /**
+   * Returns the packed code of the cell with a shorter code length that contains a packed code.
+   * This only masks off the digits after the length.
+   *
+   * @param packed A packed code.
+   * @param codeLength The length of the parent, not more than the length of the packed code.
+   * @return The packed code of the parent, or the packed code itself if the lengths are equal.
+   * @throws IllegalArgumentException if the length is not valid or is more than that of the code.
+   */
+  public static long parent(long packed, int codeLength) {
+    if (codeLength > length(packed)) {
+      throw new IllegalArgumentException(
+          "Parent length " + codeLength + " is more than the code length " + length(packed));
+    }
+    return packed & ~lowBits(checkLength(codeLength)) | codeLength;
+  }
+
+  /**
+   * Calls an action with the packed codes of the cells one length longer than a packed code that it
+   * contains, in code order. There are 400 children while the code has fewer than {@link
+   * OpenLocationCode#CODE_PRECISION_NORMAL} digits, and 20 after that.
+   *
+   * @param packed A packed code, shorter than {@link #MAX_DIGIT_COUNT} digits.
+   * @param action Called with the packed code of each child.
+   * @throws IllegalArgumentException if the code has the maximum length.
+   */
+  public static void forEachChild(long packed, LongConsumer action) {
+    int length = length(packed);
+    if (length >= MAX_DIGIT_COUNT) {
+      throw new IllegalArgumentException("Codes of length " + length + " have no children");
+    }
+    int childLength = childLength(length);
+    int shift = LEVEL_SHIFT[levels(childLength) - 1];
+    long first = packed & ~LENGTH_MASK | childLength;
+    for (long i = 0, count = siblingCount(childLength); i < count; i++) {
+      action.accept(first | i << shift);
+    }
+  }
+
+  /**
+   * Calls an action with the packed codes of the cells containing a packed code, from the shortest
+   * to its parent.
+   *
+   * @param packed A packed code.
+   * @param action Called with the packed code of each ancestor.
+   */
+  public static void forEachAncestor(long packed, LongConsumer action) {
+    int length = length(packed);
+    for (int ancestor = OpenLocationCode.MIN_DIGIT_COUNT;
+        ancestor < length;
+        ancestor = childLength(ancestor)) {
+      action.accept(packed & ~lowBits(ancestor) | ancestor);
+    }
+  }
+
+  /**
+   * Returns the length of the longest code containing two packed codes.
+   *
+   * @param packed1 A packed code.
+   * @param packed2 Another packed code.
+   * @return The length of their longest common ancestor, which is the length of the shorter code if
+   *     it contains the other, or 0 if they do not share the first pair of digits.
+   */
+  public static int commonAncestorLength(long packed1, long packed2) {
+    int levels = Math.min(levels(length(packed1)), levels(length(packed2)));
+    // The highest bit that differs decides the first digit field that differs.
+    long difference = (packed1 ^ packed2) & ~LENGTH_MASK;
+    int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(difference);
+    int common = 0;
+    while (common < levels && LEVEL_SHIFT[common] > highestBit) {
+      common++;
+    }
+    return common <= OpenLocationCode.PAIR_CODE_LENGTH / 2
+        ? common * 2
+        : OpenLocationCode.PAIR_CODE_LENGTH + common - OpenLocationCode.PAIR_CODE_LENGTH / 2;
+  }
+
+  /**
+   * Returns the number of cells with a code length. The ordinals of the cells are the numbers from
+   * zero up to this count.
+   *
+   * @param codeLength The number of digits in the codes.
+   * @return The number of cells.
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  public static long ordinalCount(int codeLength) {
+    return LAT_CELLS[checkLength(codeLength)] * LNG_CELLS[codeLength];
+  }
+
+  /**
+   * Returns the position of a cell among all the cells with a code length, in code order. The
+   * positions are dense, so they can index arrays of per-cell values. The cells contained in a
+   * shorter code have consecutive positions.
+   *
+   * @param packed A packed code.
+   * @param codeLength The length of the cells to number. A longer packed code is numbered by the
+   *     cell of this length containing it.
+   * @return The ordinal, from zero to {@link #ordinalCount} - 1.
+   * @throws IllegalArgumentException if the length is not valid or is more than that of the code.
+   */
+  public static long toOrdinal(long packed, int codeLength) {
+    if (codeLength > length(packed)) {
+      throw new IllegalArgumentException(
+          "Ordinal length " + codeLength + " is more than the code length " + length(packed));
+    }
+    long ordinal = 0;
+    for (int level = 0; level < levels(checkLength(codeLength)); level++) {
+      ordinal = ordinal * LEVEL_LAT_RADIX[level] * LEVEL_LNG_RADIX[level] + field(packed, level);
+    }
+    return ordinal;
+  }
+
+  /**
+   * Returns the cell at a position among all the cells with a code length, in code order.
+   *
+   * @param ordinal The ordinal, from zero to {@link #ordinalCount} - 1.
+   * @param codeLength The number of digits in the code.
+   * @return The packed code.
+   * @throws IllegalArgumentException if the length or ordinal is not valid.
+   */
+  public static long fromOrdinal(long ordinal, int codeLength) {
+    if (ordinal < 0 || ordinal >= ordinalCount(codeLength)) {
+      throw new IllegalArgumentException(
+          "Invalid ordinal " + ordinal + " for code length " + codeLength);
+    }
+    long packed = codeLength;
+    for (int level = levels(codeLength) - 1; level >= 0; level--) {
+      long values = LEVEL_LAT_RADIX[level] * LEVEL_LNG_RADIX[level];
+      packed |= ordinal % values << LEVEL_SHIFT[level];
+      ordinal /= values;
+    }
+    return packed;
+  }
+
+  /**
+   * Returns the southern edge of a packed code, in the positive integer units used by {@link
+   * OpenLocationCode#degreesToIntegers}.
+   */
+  static long southInteger(long packed) {
+    return latitudeIndex(packed) * LAT_CELL_SIZE[length(packed)];
+  }
+
+  /**
+   * Returns the western edge of a packed code, in the positive integer units used by {@link
+   * OpenLocationCode#degreesToIntegers}.
+   */
+  static long westInteger(long packed) {
+    return longitudeIndex(packed) * LNG_CELL_SIZE[length(packed)];
+  }
+
+  /** Returns the row of a packed code in the grid for its code length. */
+  static long latitudeIndex(long packed) {
+    long index = 0;
+    for (int level = 0; level < levels(length(packed)); level++) {
+      index = index * LEVEL_LAT_RADIX[level] + field(packed, level) / LEVEL_LNG_RADIX[level];
+    }
+    return index;
+  }
+
+  /** Returns the column of a packed code in the grid for its code length. */
+  static long longitudeIndex(long packed) {
+    long index = 0;
+    for (int level = 0; level < levels(length(packed)); level++) {
+      index = index * LEVEL_LNG_RADIX[level] + field(packed, level) % LEVEL_LNG_RADIX[level];
+    }
+    return index;
+  }
+
+  /** Returns the number of rows in the grid for a code length. */
+  static long latitudeCells(int codeLength) {
+    return LAT_CELLS[codeLength];
+  }
+
+  /** Returns the number of columns in the grid for a code length. */
+  static long longitudeCells(int codeLength) {
+    return LNG_CELLS[codeLength];
+  }
+
+  /** Returns the height of a cell for a code length, in integer units. */
+  static long latitudeCellSize(int codeLength) {
+    return LAT_CELL_SIZE[codeLength];
+  }
+
+  /** Returns the width of a cell for a code length, in integer units. */
+  static long longitudeCellSize(int codeLength) {
+    return LNG_CELL_SIZE[codeLength];
+  }
+
+  /**
+   * Checks that a code length can be stored in a packed code.
+   *
+   * @throws IllegalArgumentException if the code length is not valid.
+   */
+  static int checkLength(int codeLength) {
+    if (codeLength < OpenLocationCode.PAIR_CODE_LENGTH && codeLength % 2 == 1
+        || codeLength < OpenLocationCode.MIN_DIGIT_COUNT
+        || codeLength > MAX_DIGIT_COUNT) {
+      throw new IllegalArgumentException("Illegal code length " + codeLength);
+    }
+    return codeLength;
+  }
+
+  /** Returns the number of digit fields used by a code length. */
+  static int levels(int codeLength) {
+    return codeLength <= OpenLocationCode.PAIR_CODE_LENGTH
+        ? codeLength / 2
+        : OpenLocationCode.PAIR_CODE_LENGTH / 2 + codeLength - OpenLocationCode.PAIR_CODE_LENGTH;
+  }
+
+  /** Returns whether the cell of a packed code contains the cell of another, or is equal to it. */
+  static boolean contains(long ancestor, long packed) {
+    return ancestor <= packed && packed <= descendantLimit(ancestor);
+  }
+
+  /**
+   * Returns an upper bound for the packed codes of the cells contained in a packed code. These are
+   * exactly the packed codes from the code itself up to the bound.
+   */
+  static long descendantLimit(long packed) {
+    return packed | lowBits(length(packed));
+  }
+
+  /** Returns the length of the codes of the cells in the cells of a code length. */
+  static int childLength(int codeLength) {
+    return codeLength < OpenLocationCode.PAIR_CODE_LENGTH ? codeLength + 2 : codeLength + 1;
+  }
+
+  /** Returns the length of the codes of the cells containing the cells of a code length. */
+  static int parentLength(int codeLength) {
+    return codeLength <= OpenLocationCode.PAIR_CODE_LENGTH ? codeLength - 2 : codeLength - 1;
+  }
+
+  /** Returns the number of cells of a code length in each cell of the parent length. */
+  static int siblingCount(int codeLength) {
+    int level = levels(codeLength) - 1;
+    return LEVEL_LAT_RADIX[level] * LEVEL_LNG_RADIX[level];
+  }
+
+  /** Returns the position of a packed code among the cells with the same parent, in code order. */
+  static int siblingIndex(long packed) {
+    return field(packed, levels(length(packed)) - 1);
+  }
+
+  /** Returns the mask of the fields after those used by a code length, and the length field. */
+  private static long lowBits(int codeLength) {
+    return (1L << LEVEL_SHIFT[levels(codeLength) - 1]) - 1;
+  }
+
+  /** Returns the value of a digit field. */
+  private static int field(long packed, int level) {
+    return (int) (packed >>> LEVEL_SHIFT[level]) & ((1 << LEVEL_BITS[level]) - 1);
+  }
+}
@@ -0,0 +1,221 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * A simple polygon with straight edges in latitude and longitude, such as a delivery zone.
+ *
+ * <p>The polygon is a single ring of vertices, in either winding order, and is closed from the last
+ * vertex back to the first. Edges are straight lines in degrees, as on a map in the equirectangular
+ * projection, and must not cross the antimeridian.
+ *
+ * <p>The edges are indexed by latitude bands, so that point and rectangle tests only look at the
+ * edges near the point or rectangle. This keeps tests fast for polygons with thousands of vertices.
+ * Instances are immutable and thread-safe.
+ */
+public final class Polygon implements Region {
+
+  // Target number of edges in each latitude band.
+  private static final int EDGES_PER_BAND = 8;
+
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double south;
+  private final double west;
+  private final double north;
+  private final double east;
+  // The latitude bands, and the edges in each band. The edges of band b are bandEdges[bandStart[b]]
+  // to bandEdges[bandStart[b + 1] - 1]. Edge i joins vertex i to vertex i + 1.
+  private final int bandCount;
+  private final double bandHeight;
+  private final int[] bandStart;
+  private final int[] bandEdges;
+
+  /**
+   * Creates a polygon.
+   *
+   * @param latitudes The latitudes of the vertices in decimal degrees.
+   * @param longitudes The longitudes of the vertices in decimal degrees, between -180 and 180.
+   * @throws IllegalArgumentException if there are fewer than three vertices, or a coordinate is not
+   *     valid.
+   */
+  public Polygon(double[] latitudes, double[] longitudes) {
+    if (latitudes.length != longitudes.length || latitudes.length < 3) {
+      throw new IllegalArgumentException("A polygon needs at least three vertices.");
+    }
+    this.latitudes = latitudes.clone();
+    this.longitudes = longitudes.clone();
+    double minLat = Double.POSITIVE_INFINITY;
+    double maxLat = Double.NEGATIVE_INFINITY;
+    double minLng = Double.POSITIVE_INFINITY;
+    double maxLng = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < latitudes.length; i++) {
+      if (!(Math.abs(latitudes[i]) <= OpenLocationCode.LATITUDE_MAX)
+          || !(Math.abs(longitudes[i]) <= OpenLocationCode.LONGITUDE_MAX)) {
+        throw new IllegalArgumentException("Invalid vertex " + latitudes[i] + ", " + longitudes[i]);
+      }
+      minLat = Math.min(minLat, latitudes[i]);
+      maxLat = Math.max(maxLat, latitudes[i]);
+      minLng = Math.min(minLng, longitudes[i]);
+      maxLng = Math.max(maxLng, longitudes[i]);
+    }
+    this.south = minLat;
+    this.west = minLng;
+    this.north = maxLat;
+    this.east = maxLng;
+
+    int edges = latitudes.length;
+    this.bandCount = Math.max(1, edges / EDGES_PER_BAND);
+    this.bandHeight = (north - south) / bandCount;
+    // Count the edges in each band, then fill them in.
+    this.bandStart = new int[bandCount + 1];
+    for (int i = 0; i < edges; i++) {
+      int last = lastBand(i);
+      for (int band = firstBand(i); band <= last; band++) {
+        bandStart[band + 1]++;
+      }
+    }
+    for (int band = 0; band < bandCount; band++) {
+      bandStart[band + 1] += bandStart[band];
+    }
+    this.bandEdges = new int[bandStart[bandCount]];
+    int[] next = bandStart.clone();
+    for (int i = 0; i < edges; i++) {
+      int last = lastBand(i);
+      for (int band = firstBand(i); band <= last; band++) {
+        bandEdges[next[band]++] = i;
+      }
+    }
+  }
+
+  /** Returns the number of vertices. */
+  public int size() {
+    return latitudes.length;
+  }
+
+  @Override
+  public boolean contains(double latitude, double longitude) {
+    if (latitude < south || latitude > north || longitude < west || longitude > east) {
+      return false;
+    }
+    // Count the edges crossed by a ray from the point towards the east.
+    int band = band(latitude);
+    boolean inside = false;
+    for (int j = bandStart[band]; j < bandStart[band + 1]; j++) {
+      int i = bandEdges[j];
+      int k = i + 1 == latitudes.length ? 0 : i + 1;
+      double lat1 = latitudes[i];
+      double lat2 = latitudes[k];
+      if (lat1 > latitude != lat2 > latitude) {
+        double lng =
+            longitudes[i] + (latitude - lat1) / (lat2 - lat1) * (longitudes[k] - longitudes[i]);
+        if (lng > longitude) {
+          inside = !inside;
+        }
+      }
+    }
+    return inside;
+  }
+
+  @Override
+  public boolean containsRectangle(double south, double west, double north, double east) {
+    if (south < this.south || north > this.north || west < this.west || east > this.east) {
+      return false;
+    }
+    return !edgeIntersects(south, west, north, east)
+        && contains((south + north) / 2, (west + east) / 2);
+  }
+
+  @Override
+  public boolean intersectsRectangle(double south, double west, double north, double east) {
+    if (south > this.north || north < this.south || west > this.east || east < this.west) {
+      return false;
+    }
+    // Either an edge is in the rectangle, or the rectangle is entirely inside or outside.
+    return edgeIntersects(south, west, north, east)
+        || contains((south + north) / 2, (west + east) / 2);
+  }
+
+  /** Returns whether any edge intersects a closed rectangle. */
+  private boolean edgeIntersects(double south, double west, double north, double east) {
+    int last = band(Math.min(north, this.north));
+    for (int band = band(Math.max(south, this.south)); band <= last; band++) {
+      for (int j = bandStart[band]; j < bandStart[band + 1]; j++) {
+        int i = bandEdges[j];
+        int k = i + 1 == latitudes.length ? 0 : i + 1;
+        if (segmentIntersects(
+            latitudes[i], longitudes[i], latitudes[k], longitudes[k], south, west, north, east)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** Returns whether a segment intersects a closed rectangle, by clipping it to the rectangle. */
+  private static boolean segmentIntersects(
+      double lat1,
+      double lng1,
+      double lat2,
+      double lng2,
+      double south,
+      double west,
+      double north,
+      double east) {
+    double enter = 0;
+    double exit = 1;
+    double dLng = lng2 - lng1;
+    if (dLng == 0) {
+      if (lng1 < west || lng1 > east) {
+        return false;
+      }
+    } else {
+      double t1 = (west - lng1) / dLng;
+      double t2 = (east - lng1) / dLng;
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
+    }
+    double dLat = lat2 - lat1;
+    if (dLat == 0) {
+      if (lat1 < south || lat1 > north) {
+        return false;
+      }
+    } else {
+      double t1 = (south - lat1) / dLat;
+      double t2 = (north - lat1) / dLat;
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
+    }
+    return enter <= exit;
+  }
+
+  private int band(double latitude) {
+    if (bandHeight == 0) {
+      return 0;
+    }
+    int band = (int) ((latitude - south) / bandHeight);
+    return Math.max(0, Math.min(bandCount - 1, band));
+  }
+
+  private int firstBand(int edge) {
+    int next = edge + 1 == latitudes.length ? 0 : edge + 1;
+    return band(Math.min(latitudes[edge], latitudes[next]));
+  }
+
+  private int lastBand(int edge) {
+    int next = edge + 1 == latitudes.length ? 0 : edge + 1;
+    return band(Math.max(latitudes[edge], latitudes[next]));
+  }
+}
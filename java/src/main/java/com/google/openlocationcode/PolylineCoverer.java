@@ -0,0 +1,163 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Finds the cells crossed by a polyline, such as a route or GPS trace.
+ *
+ * <p>Each segment is walked through the grid of the code length one cell at a time, stepping to
+ * whichever neighbouring row or column the segment reaches first. This finds every cell that the
+ * segment passes through without sampling points along it. Segments are straight lines in degrees
+ * and take the shorter way around the globe, so segments crossing the antimeridian are handled.
+ */
+public final class PolylineCoverer {
+
+  private PolylineCoverer() {}
+
+  /**
+   * Returns the cells crossed by a polyline, in the order they are crossed.
+   *
+   * @param latitudes The latitudes of the vertices in decimal degrees.
+   * @param longitudes The longitudes of the vertices in decimal degrees.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @return The packed codes of the cells. A cell is repeated if the polyline returns to it, but
+   *     not for consecutive segments within it.
+   * @throws IllegalArgumentException if the arrays have different lengths or the code length is not
+   *     valid.
+   */
+  public static long[] cover(double[] latitudes, double[] longitudes, int codeLength) {
+    LongList cells = new LongList();
+    forEach(latitudes, longitudes, codeLength, cells::add);
+    return cells.toArray();
+  }
+
+  /**
+   * Calls an action with each cell crossed by a polyline, in the order they are crossed.
+   *
+   * @param latitudes The latitudes of the vertices in decimal degrees.
+   * @param longitudes The longitudes of the vertices in decimal degrees.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @param action Called with the packed code of each cell.
+   * @throws IllegalArgumentException if the arrays have different lengths or the code length is not
+   *     valid.
+   */
+  public static void forEach(
+      double[] latitudes, double[] longitudes, int codeLength, LongConsumer action) {
+    if (latitudes.length != longitudes.length) {
+      throw new IllegalArgumentException("The latitude and longitude arrays differ in length.");
+    }
+    PackedCode.checkLength(codeLength);
+    if (latitudes.length == 0) {
+      return;
+    }
+    Walk walk = new Walk(codeLength, action);
+    double y = walk.row(latitudes[0]);
+    double x = walk.column(longitudes[0]);
+    walk.emit((long) y, (long) x);
+    for (int i = 1; i < latitudes.length; i++) {
+      double nextY = walk.row(latitudes[i]);
+      double nextX = walk.column(longitudes[i]);
+      // Take the shorter way around, continuing from the unwrapped column of the last vertex.
+      double columns = walk.gridColumns;
+      double dx = nextX - (x - Math.floor(x / columns) * columns);
+      if (dx > columns / 2) {
+        dx -= columns;
+      } else if (dx < -columns / 2) {
+        dx += columns;
+      }
+      nextX = x + dx;
+      walk.segment(x, y, nextX, nextY);
+      x = nextX;
+      y = nextY;
+    }
+  }
+
+  /** The state of a walk through the grid of a code length. */
+  private static final class Walk {
+    private final int codeLength;
+    private final LongConsumer action;
+    private final long latCellSize;
+    private final long lngCellSize;
+    final long gridColumns;
+    private long last = PackedCode.NO_CODE;
+
+    Walk(int codeLength, LongConsumer action) {
+      this.codeLength = codeLength;
+      this.action = action;
+      this.latCellSize = PackedCode.latitudeCellSize(codeLength);
+      this.lngCellSize = PackedCode.longitudeCellSize(codeLength);
+      this.gridColumns = PackedCode.longitudeCells(codeLength);
+    }
+
+    /** Returns the position of a latitude in the grid, in rows. Its integer part is its row. */
+    double row(double latitude) {
+      return (double) OpenLocationCode.latitudeToInteger(latitude) / latCellSize;
+    }
+
+    /**
+     * Returns the position of a longitude in the grid, in columns. Its integer part is its column.
+     */
+    double column(double longitude) {
+      return (double) OpenLocationCode.longitudeToInteger(longitude) / lngCellSize;
+    }
+
+    /** Walks the cells from one position to another, excluding the cell of the first one. */
+    void segment(double x1, double y1, double x2, double y2) {
+      long column = (long) Math.floor(x1);
+      long row = (long) Math.floor(y1);
+      long endColumn = (long) Math.floor(x2);
+      long endRow = (long) Math.floor(y2);
+      long columnSteps = Math.abs(endColumn - column);
+      long rowSteps = Math.abs(endRow - row);
+      int columnStep = x2 > x1 ? 1 : -1;
+      int rowStep = y2 > y1 ? 1 : -1;
+      double dx = x2 - x1;
+      double dy = y2 - y1;
+      // The fraction of the segment at which it crosses the next column and row boundaries, and
+      // the fraction between successive boundaries.
+      double columnDelta = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+      double rowDelta = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+      double nextColumn =
+          dx == 0
+              ? Double.POSITIVE_INFINITY
+              : (columnStep > 0 ? column + 1 - x1 : x1 - column) * columnDelta;
+      double nextRow =
+          dy == 0 ? Double.POSITIVE_INFINITY : (rowStep > 0 ? row + 1 - y1 : y1 - row) * rowDelta;
+      while (columnSteps > 0 || rowSteps > 0) {
+        if (rowSteps == 0 || columnSteps > 0 && nextColumn <= nextRow) {
+          column += columnStep;
+          nextColumn += columnDelta;
+          columnSteps--;
+        } else {
+          row += rowStep;
+          nextRow += rowDelta;
+          rowSteps--;
+        }
+        emit(row, column);
+      }
+    }
+
+    /** Calls the action with a cell, unless it is the same as the last one. */
+    void emit(long row, long column) {
+      long cell = PackedCode.fromIndices(row, Math.floorMod(column, gridColumns), codeLength);
+      if (cell != last) {
+        action.accept(cell);
+        last = cell;
+      }
+    }
+  }
+}
@@ -0,0 +1,221 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Plans bounding box queries against codes stored as keys in a sorted key-value store.
+ *
+ * <p>The box is covered with cells, and each cell becomes the range of keys starting with its code
+ * prefix. Because code order matches the order of the cells, neighbouring cells often have adjacent
+ * ranges, which are merged. The covering is refined for as long as the merged ranges fit within a
+ * limit, so the ranges include as little area outside the box as the limit allows. Keys in the
+ * ranges may still be outside the box, and should be checked if that matters.
+ *
+ * <p>The keys must be full codes with at least the maximum length of the planner, as returned by
+ * {@link OpenLocationCode#encode(double, double, int)}. Instances are immutable and thread-safe.
+ */
+public final class RangeQueryPlanner {
+
+  /** The default maximum number of ranges in a plan. */
+  public static final int DEFAULT_MAX_RANGES = 8;
+
+  private static final char FIRST_DIGIT = OpenLocationCode.CODE_ALPHABET.charAt(0);
+
+  private final int maxRanges;
+  private final int maxLength;
+
+  /**
+   * Creates a planner.
+   *
+   * @param maxRanges The maximum number of ranges in a plan. More ranges are used if a box needs
+   *     more cells of the shortest code length.
+   * @param maxLength The length of the longest cells, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @throws IllegalArgumentException if the maximum number of ranges or length is not valid.
+   */
+  public RangeQueryPlanner(int maxRanges, int maxLength) {
+    PackedCode.checkLength(maxLength);
+    if (maxRanges < 1) {
+      throw new IllegalArgumentException("Invalid maximum number of ranges " + maxRanges);
+    }
+    this.maxRanges = maxRanges;
+    this.maxLength = maxLength;
+  }
+
+  public int getMaxRanges() {
+    return maxRanges;
+  }
+
+  public int getMaxLength() {
+    return maxLength;
+  }
+
+  /**
+   * Returns the key ranges to scan for a bounding box.
+   *
+   * @param south The southern edge in decimal degrees.
+   * @param west The western edge in decimal degrees.
+   * @param north The northern edge in decimal degrees, not less than the southern edge.
+   * @param east The eastern edge in decimal degrees. If it is less than the western edge, the box
+   *     crosses the antimeridian.
+   * @return The ranges, in key order. They do not overlap.
+   * @throws IllegalArgumentException if the box is not valid.
+   */
+  public List<KeyRange> plan(double south, double west, double north, double east) {
+    return plan(new LatLngRect(south, west, north, east));
+  }
+
+  /**
+   * Returns the key ranges to scan for a region.
+   *
+   * @param region The region.
+   * @return The ranges, in key order. They do not overlap.
+   */
+  public List<KeyRange> plan(Region region) {
+    List<KeyRange> best = null;
+    // Merged ranges are fewer than the cells, so keep allowing more cells until they do not fit.
+    for (int maxCells = maxRanges; maxCells > 0; maxCells *= 2) {
+      RegionCoverer coverer =
+          new RegionCoverer(OpenLocationCode.MIN_DIGIT_COUNT, maxLength, maxCells);
+      long[] cells = coverer.cover(region).getCells();
+      List<KeyRange> ranges = ranges(cells);
+      if (best != null && ranges.size() > maxRanges) {
+        break;
+      }
+      best = ranges;
+      if (cells.length < maxCells) {
+        // The covering did not use all the cells, so more would not refine it.
+        break;
+      }
+    }
+    return Collections.unmodifiableList(best);
+  }
+
+  /** Returns the merged key ranges of cells in code order. */
+  static List<KeyRange> ranges(long[] cells) {
+    List<KeyRange> ranges = new ArrayList<>();
+    KeyRange last = null;
+    for (long cell : cells) {
+      String start = prefix(cell);
+      String end = successor(start);
+      if (last != null && last.end != null && lowestKey(last.end).equals(lowestKey(start))) {
+        last = new KeyRange(last.start, end);
+        ranges.set(ranges.size() - 1, last);
+      } else {
+        last = new KeyRange(start, end);
+        ranges.add(last);
+      }
+    }
+    return ranges;
+  }
+
+  /** Returns the prefix of the keys in a cell. */
+  static String prefix(long cell) {
+    int length = PackedCode.length(cell);
+    String code = PackedCode.toCode(cell);
+    // Longer codes include the separator.
+    return code.substring(0, length <= OpenLocationCode.SEPARATOR_POSITION ? length : length + 1);
+  }
+
+  /**
+   * Returns the first prefix of the same length after a prefix, or null if there is none. All the
+   * keys starting with the prefix are less than it.
+   */
+  static String successor(String prefix) {
+    char[] chars = prefix.toCharArray();
+    for (int i = chars.length - 1; i >= 0; i--) {
+      if (chars[i] == OpenLocationCode.SEPARATOR) {
+        continue;
+      }
+      int digit = OpenLocationCode.CODE_ALPHABET.indexOf(chars[i]);
+      if (digit < OpenLocationCode.ENCODING_BASE - 1) {
+        chars[i] = OpenLocationCode.CODE_ALPHABET.charAt(digit + 1);
+        return new String(chars);
+      }
+      // Carry into the previous digit.
+      chars[i] = FIRST_DIGIT;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the shortest string with the same keys at or after it as a prefix. Trailing first
+   * digits and separators can be removed because no key has a lower character in their place.
+   */
+  private static String lowestKey(String prefix) {
+    int end = prefix.length();
+    while (end > 0
+        && (prefix.charAt(end - 1) == FIRST_DIGIT
+            || prefix.charAt(end - 1) == OpenLocationCode.SEPARATOR)) {
+      end--;
+    }
+    return prefix.substring(0, end);
+  }
+
+  /** A range of keys, from a start key included to an end key excluded. */
+  public static final class KeyRange {
+
+    private final String start;
+    private final String end;
+
+    KeyRange(String start, String end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    /** Returns the first key of the range. */
+    public String getStart() {
+      return start;
+    }
+
+    /**
+     * Returns the key after the range, or null if the range includes all the keys after its start.
+     */
+    public String getEnd() {
+      return end;
+    }
+
+    /** Returns whether a key is in the range. */
+    public boolean contains(String key) {
+      return key.compareTo(start) >= 0 && (end == null || key.compareTo(end) < 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      KeyRange that = (KeyRange) o;
+      return start.equals(that.start) && Objects.equals(end, that.end);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return "[" + start + ", " + (end == null ? "" : end) + ")";
+    }
+  }
+}
@@ -0,0 +1,187 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * Encodes the points of a regular grid of latitudes and longitudes into packed codes, row by row.
+ *
+ * <p>The sample in row i and column j of the raster is at latitude {@code latitude + i *
+ * latitudeStep} and longitude {@code longitude + j * longitudeStep}, and its code is the same as
+ * {@link PackedCode#encode} returns for that point. Along a row the cell row does not change, and
+ * consecutive samples are usually in the same cell or the next one. The first sample of a row is
+ * encoded in full. After that, each sample's longitude is compared with the edges of the current
+ * cell in integer units. When it leaves the cell, only the digits that change are rewritten, as in
+ * {@link PackedCode#reencode}.
+ *
+ * <p>Rows are encoded independently, so different rows can be encoded by different threads.
+ * Instances are immutable and thread-safe.
+ */
+public final class RasterEncoder {
+
+  /** Receives the codes of a row of a raster. */
+  public interface RowConsumer {
+
+    /**
+     * Called with the codes of a row.
+     *
+     * @param row The row of the raster.
+     * @param codes The packed codes of the row, from the first column. The array is reused for the
+     *     next row.
+     */
+    void accept(int row, long[] codes);
+  }
+
+  private final double latitude;
+  private final double longitude;
+  private final double latitudeStep;
+  private final double longitudeStep;
+  private final int rows;
+  private final int columns;
+  private final int codeLength;
+
+  /**
+   * Creates an encoder for a raster.
+   *
+   * @param latitude The latitude of the first row in decimal degrees.
+   * @param longitude The longitude of the first column in decimal degrees.
+   * @param latitudeStep The latitude difference between rows, which may be negative.
+   * @param longitudeStep The longitude difference between columns, which may be negative.
+   * @param rows The number of rows.
+   * @param columns The number of columns.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @throws IllegalArgumentException if the raster or code length is not valid.
+   */
+  public RasterEncoder(
+      double latitude,
+      double longitude,
+      double latitudeStep,
+      double longitudeStep,
+      int rows,
+      int columns,
+      int codeLength) {
+    if (!Double.isFinite(latitude)
+        || !Double.isFinite(longitude)
+        || !Double.isFinite(latitudeStep)
+        || !Double.isFinite(longitudeStep)
+        || rows < 0
+        || columns < 0) {
+      throw new IllegalArgumentException(
+          "Invalid raster at "
+              + latitude
+              + ", "
+              + longitude
+              + " with steps "
+              + latitudeStep
+              + ", "
+              + longitudeStep
+              + " and size "
+              + rows
+              + " by "
+              + columns);
+    }
+    this.latitude = latitude;
+    this.longitude = longitude;
+    this.latitudeStep = latitudeStep;
+    this.longitudeStep = longitudeStep;
+    this.rows = rows;
+    this.columns = columns;
+    this.codeLength = PackedCode.checkLength(codeLength);
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public int getCodeLength() {
+    return codeLength;
+  }
+
+  /**
+   * Encodes a row of the raster.
+   *
+   * @param row The row, from 0.
+   * @param codes The array to store the packed codes of the row in.
+   * @param offset The position in the array of the code of the first column.
+   * @throws IllegalArgumentException if the row is not in the raster.
+   * @throws IndexOutOfBoundsException if the row does not fit in the array.
+   */
+  public void encodeRow(int row, long[] codes, int offset) {
+    if (row < 0 || row >= rows) {
+      throw new IllegalArgumentException("Row " + row + " is not in 0 to " + rows);
+    }
+    if (offset < 0 || offset > codes.length - columns) {
+      throw new IndexOutOfBoundsException(
+          "Row of " + columns + " at " + offset + " does not fit in " + codes.length);
+    }
+    if (columns == 0) {
+      return;
+    }
+    long lngSize = PackedCode.longitudeCellSize(codeLength);
+    long cellRow =
+        OpenLocationCode.latitudeToInteger(latitude + row * latitudeStep)
+            / PackedCode.latitudeCellSize(codeLength);
+    long column = OpenLocationCode.longitudeToInteger(longitude) / lngSize;
+    long packed = PackedCode.fromIndices(cellRow, column, codeLength);
+    long west = column * lngSize;
+    long east = west + lngSize;
+    codes[offset] = packed;
+    for (int i = 1; i < columns; i++) {
+      long lng = OpenLocationCode.longitudeToInteger(longitude + i * longitudeStep);
+      if (lng < west || lng >= east) {
+        long newColumn = lng / lngSize;
+        packed = PackedCode.moveTo(packed, cellRow, column, cellRow, newColumn);
+        column = newColumn;
+        west = column * lngSize;
+        east = west + lngSize;
+      }
+      codes[offset + i] = packed;
+    }
+  }
+
+  /**
+   * Calls an action with the codes of each row of the raster, from the first.
+   *
+   * @param action Called with each row.
+   */
+  public void forEachRow(RowConsumer action) {
+    long[] codes = new long[columns];
+    for (int row = 0; row < rows; row++) {
+      encodeRow(row, codes, 0);
+      action.accept(row, codes);
+    }
+  }
+
+  /**
+   * Encodes the whole raster.
+   *
+   * @return The packed codes, row by row.
+   * @throws IllegalArgumentException if the raster has too many samples for an array.
+   */
+  public long[] encode() {
+    long size = (long) rows * columns;
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Raster of " + size + " samples is too large");
+    }
+    long[] codes = new long[(int) size];
+    for (int row = 0; row < rows; row++) {
+      encodeRow(row, codes, row * columns);
+    }
+    return codes;
+  }
+}
@@ -0,0 +1,44 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+/**
+ * An area of the earth that can be covered with codes by a {@link RegionCoverer}.
+ *
+ * <p>Rectangles are given by their edges in decimal degrees, with the western edge less than the
+ * eastern edge, as for the areas of codes (see {@link OpenLocationCode.CodeArea}).
+ */
+public interface Region {
+
+  /**
+   * Returns whether the region contains a point.
+   *
+   * @param latitude The latitude in decimal degrees.
+   * @param longitude The longitude in decimal degrees.
+   */
+  boolean contains(double latitude, double longitude);
+
+  /**
+   * Returns whether the region contains all of a rectangle. This may return false for rectangles
+   * that are only just contained, but must not return true for rectangles that are not.
+   */
+  boolean containsRectangle(double south, double west, double north, double east);
+
+  /**
+   * Returns whether the region intersects a rectangle. This may return true for rectangles that
+   * only just miss the region, but must not return false for rectangles that intersect it.
+   */
+  boolean intersectsRectangle(double south, double west, double north, double east);
+}
@@ -0,0 +1,302 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Covers a {@link Region} with a set of codes of mixed lengths.
+ *
+ * <p>Cells inside the region are kept as short as possible, and cells on its boundary are refined
+ * down to the maximum length while the number of cells stays within a limit. A point is in the
+ * region if it is in an interior cell, and may be in it if it is in a boundary cell. Testing a
+ * point then becomes a lookup of the prefixes of its code.
+ *
+ * <p>Cells are refined starting with the shortest, and among cells of the same length, those with
+ * the fewest children intersecting the region first. This spends the cell budget where it removes
+ * the most area outside the region. If the cells of the minimum length alone exceed the limit, all
+ * of them are returned. Instances are immutable and thread-safe.
+ */
+public final class RegionCoverer {
+
+  /** The default maximum number of cells in a covering. */
+  public static final int DEFAULT_MAX_CELLS = 8;
+
+  private static final Comparator<Candidate> REFINE_ORDER =
+      Comparator.comparingInt((Candidate c) -> PackedCode.length(c.cell))
+          .thenComparingInt(c -> c.children.length);
+
+  private final int minLength;
+  private final int maxLength;
+  private final int maxCells;
+
+  /**
+   * Creates a coverer.
+   *
+   * @param minLength The length of the shortest cells, 2 or more.
+   * @param maxLength The length of the longest cells, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @param maxCells The maximum number of cells in a covering. More cells are used if the region
+   *     needs more cells of the minimum length.
+   * @throws IllegalArgumentException if the lengths or maximum number of cells are not valid.
+   */
+  public RegionCoverer(int minLength, int maxLength, int maxCells) {
+    PackedCode.checkLength(minLength);
+    PackedCode.checkLength(maxLength);
+    if (minLength > maxLength || maxCells < 1) {
+      throw new IllegalArgumentException(
+          "Invalid coverer lengths " + minLength + " to " + maxLength + ", cells " + maxCells);
+    }
+    this.minLength = minLength;
+    this.maxLength = maxLength;
+    this.maxCells = maxCells;
+  }
+
+  public int getMinLength() {
+    return minLength;
+  }
+
+  public int getMaxLength() {
+    return maxLength;
+  }
+
+  public int getMaxCells() {
+    return maxCells;
+  }
+
+  /**
+   * Covers a region.
+   *
+   * @param region The region to cover.
+   * @return The covering.
+   */
+  public Covering cover(Region region) {
+    LongList interior = new LongList();
+    LongList boundary = new LongList();
+    PriorityQueue<Candidate> candidates = new PriorityQueue<>(REFINE_ORDER);
+    // Start with all the cells of the shortest code length.
+    int firstLength = OpenLocationCode.MIN_DIGIT_COUNT;
+    for (long row = 0; row < PackedCode.latitudeCells(firstLength); row++) {
+      for (long column = 0; column < PackedCode.longitudeCells(firstLength); column++) {
+        long cell = PackedCode.fromIndices(row, column, firstLength);
+        if (intersects(region, cell)) {
+          addCell(region, cell, interior, boundary, candidates);
+        }
+      }
+    }
+    while (!candidates.isEmpty()) {
+      Candidate candidate = candidates.poll();
+      int cells = interior.size() + boundary.size() + candidates.size();
+      if (PackedCode.length(candidate.cell) < minLength
+          || cells + candidate.children.length <= maxCells) {
+        for (long child : candidate.children) {
+          addCell(region, child, interior, boundary, candidates);
+        }
+      } else {
+        boundary.add(candidate.cell);
+      }
+    }
+    return new Covering(interior.toSortedArray(), boundary.toSortedArray());
+  }
+
+  /**
+   * Returns the cells of a code length whose areas intersect a circle.
+   *
+   * <p>The cells are taken from the bounding box of the circle, which is widened in longitude by
+   * the cosine of the latitude, and kept if the circle comes within their edges. A circle around a
+   * pole includes all longitudes.
+   *
+   * @param latitude The latitude of the center in decimal degrees.
+   * @param longitude The longitude of the center in decimal degrees.
+   * @param radiusMeters The radius in meters.
+   * @param codeLength The number of digits in the codes, up to {@link PackedCode#MAX_DIGIT_COUNT}.
+   * @return The packed codes of the cells, in code order.
+   * @throws IllegalArgumentException if the circle or code length is not valid.
+   */
+  public static long[] coverCircle(
+      double latitude, double longitude, double radiusMeters, int codeLength) {
+    Circle circle = new Circle(latitude, longitude, radiusMeters);
+    PackedCode.checkLength(codeLength);
+    double angle = radiusMeters / Circle.EARTH_RADIUS_METERS;
+    double south = Math.max(-OpenLocationCode.LATITUDE_MAX, latitude - Math.toDegrees(angle));
+    double north = Math.min(OpenLocationCode.LATITUDE_MAX, latitude + Math.toDegrees(angle));
+    double west = -OpenLocationCode.LONGITUDE_MAX;
+    double east = OpenLocationCode.LONGITUDE_MAX;
+    double sinWidth = Math.sin(angle) / Math.cos(Math.toRadians(latitude));
+    if (angle < Math.PI / 2
+        && south > -OpenLocationCode.LATITUDE_MAX
+        && north < OpenLocationCode.LATITUDE_MAX
+        && sinWidth < 1) {
+      double width = Math.toDegrees(Math.asin(sinWidth));
+      west = longitude - width;
+      east = longitude + width;
+    }
+    LongList cells = new LongList();
+    BoundingBoxCells.forEach(
+        south,
+        west,
+        north,
+        east,
+        codeLength,
+        cell -> {
+          if (intersects(circle, cell)) {
+            cells.add(cell);
+          }
+        });
+    return cells.toSortedArray();
+  }
+
+  /** Adds a cell that intersects the region to the covering, or to the candidates for refining. */
+  private void addCell(
+      Region region,
+      long cell,
+      LongList interior,
+      LongList boundary,
+      PriorityQueue<Candidate> candidates) {
+    int length = PackedCode.length(cell);
+    if (contains(region, cell)) {
+      if (length >= minLength) {
+        interior.add(cell);
+      } else {
+        forEachDescendant(cell, minLength, interior::add);
+      }
+      return;
+    }
+    if (length >= maxLength) {
+      boundary.add(cell);
+      return;
+    }
+    LongList children = new LongList();
+    PackedCode.forEachChild(
+        cell,
+        child -> {
+          if (intersects(region, child)) {
+            children.add(child);
+          }
+        });
+    // If no child intersects, the cell only touched the region.
+    if (!children.isEmpty()) {
+      candidates.add(new Candidate(cell, children.toArray()));
+    }
+  }
+
+  /** Calls an action with each descendant of a cell with a code length. */
+  static void forEachDescendant(long cell, int codeLength, LongConsumer action) {
+    int length = PackedCode.length(cell);
+    long rows = PackedCode.latitudeCells(codeLength) / PackedCode.latitudeCells(length);
+    long columns = PackedCode.longitudeCells(codeLength) / PackedCode.longitudeCells(length);
+    long firstRow = PackedCode.latitudeIndex(cell) * rows;
+    long firstColumn = PackedCode.longitudeIndex(cell) * columns;
+    for (long row = firstRow; row < firstRow + rows; row++) {
+      for (long column = firstColumn; column < firstColumn + columns; column++) {
+        action.accept(PackedCode.fromIndices(row, column, codeLength));
+      }
+    }
+  }
+
+  static boolean intersects(Region region, long cell) {
+    int length = PackedCode.length(cell);
+    long south = PackedCode.southInteger(cell);
+    long west = PackedCode.westInteger(cell);
+    return region.intersectsRectangle(
+        latitudeDegrees(south),
+        longitudeDegrees(west),
+        latitudeDegrees(south + PackedCode.latitudeCellSize(length)),
+        longitudeDegrees(west + PackedCode.longitudeCellSize(length)));
+  }
+
+  static boolean contains(Region region, long cell) {
+    int length = PackedCode.length(cell);
+    long south = PackedCode.southInteger(cell);
+    long west = PackedCode.westInteger(cell);
+    return region.containsRectangle(
+        latitudeDegrees(south),
+        longitudeDegrees(west),
+        latitudeDegrees(south + PackedCode.latitudeCellSize(length)),
+        longitudeDegrees(west + PackedCode.longitudeCellSize(length)));
+  }
+
+  private static double latitudeDegrees(long latitude) {
+    return (double) latitude / OpenLocationCode.LAT_INTEGER_MULTIPLIER
+        - OpenLocationCode.LATITUDE_MAX;
+  }
+
+  private static double longitudeDegrees(long longitude) {
+    return (double) longitude / OpenLocationCode.LNG_INTEGER_MULTIPLIER
+        - OpenLocationCode.LONGITUDE_MAX;
+  }
+
+  /** A cell on the boundary of the region, and its children that intersect the region. */
+  private static final class Candidate {
+    final long cell;
+    final long[] children;
+
+    Candidate(long cell, long[] children) {
+      this.cell = cell;
+      this.children = children;
+    }
+  }
+
+  /**
+   * The cells covering a region. Interior cells are inside the region, and boundary cells intersect
+   * it. The cells do not overlap.
+   */
+  public static final class Covering {
+
+    private final long[] interior;
+    private final long[] boundary;
+
+    Covering(long[] interior, long[] boundary) {
+      this.interior = interior;
+      this.boundary = boundary;
+    }
+
+    /** Returns the packed codes of the cells inside the region, in code order. */
+    public long[] getInteriorCells() {
+      return interior.clone();
+    }
+
+    /** Returns the packed codes of the cells on the boundary of the region, in code order. */
+    public long[] getBoundaryCells() {
+      return boundary.clone();
+    }
+
+    /** Returns the packed codes of all the cells, in code order. */
+    public long[] getCells() {
+      long[] cells = Arrays.copyOf(interior, interior.length + boundary.length);
+      System.arraycopy(boundary, 0, cells, interior.length, boundary.length);
+      Arrays.sort(cells);
+      return cells;
+    }
+
+    /** Returns the codes of all the cells, in code order. */
+    public List<String> getCodes() {
+      List<String> codes = new ArrayList<>();
+      for (long cell : getCells()) {
+        codes.add(PackedCode.toCode(cell));
+      }
+      return codes;
+    }
+
+    /** Returns the number of cells. */
+    public int size() {
+      return interior.length + boundary.length;
+    }
+  }
+}
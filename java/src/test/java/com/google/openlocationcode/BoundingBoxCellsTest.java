@@ -0,0 +1,191 @@
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests enumerating the cells in a bounding box. */
+@RunWith(JUnit4.class)
+public class BoundingBoxCellsTest {
+
+  private static Set<String> enumerate(
+      double south, double west, double north, double east, int codeLength) {
+    BoundingBoxCells cells = new BoundingBoxCells(south, west, north, east, codeLength);
+    long size = cells.size();
+    Set<String> codes = new HashSet<>();
+    while (cells.hasNext()) {
+      Assert.assertTrue("Duplicate cell", codes.add(PackedCode.toCode(cells.nextLong())));
+    }
+    Assert.assertEquals(size, codes.size());
+    return codes;
+  }
+
+  private static boolean overlaps(double min, double max, double cellMin, double cellMax) {
+    return cellMin < max && cellMax > min;
+  }
+
+  @Test
+  public void testMatchesAllCellsAtLength4() {
+    // Collect all cells of length 4.
+    List<CodeArea> areas = new ArrayList<>();
+    List<String> codes = new ArrayList<>();
+    new BoundingBoxCells(-90, -180, 90, 180, 4)
+        .forEachRemaining(
+            (long packed) -> {
+              codes.add(PackedCode.toCode(packed));
+              areas.add(PackedCode.decode(packed));
+            });
+    Assert.assertEquals(180 * 360, codes.size());
+    Random random = new Random(7);
+    for (int i = 0; i < 50; i++) {
+      double south = random.nextDouble() * 175 - 90;
+      double north = south + random.nextDouble() * 30;
+      double west = random.nextDouble() * 360 - 180;
+      double east = random.nextDouble() * 360 - 180;
+      if (i % 2 == 0) {
+        east = west + random.nextDouble() * 40;
+        east = east > 180 ? east - 360 : east;
+      }
+      Set<String> expected = new HashSet<>();
+      for (int c = 0; c < codes.size(); c++) {
+        CodeArea area = areas.get(c);
+        boolean latitudeOverlaps =
+            overlaps(south, Math.min(90, north), area.getSouthLatitude(), area.getNorthLatitude());
+        boolean longitudeOverlaps =
+            west <= east
+                ? overlaps(west, east, area.getWestLongitude(), area.getEastLongitude())
+                : overlaps(west, 180, area.getWestLongitude(), area.getEastLongitude())
+                    || overlaps(-180, east, area.getWestLongitude(), area.getEastLongitude());
+        if (latitudeOverlaps && longitudeOverlaps) {
+          expected.add(codes.get(c));
+        }
+      }
+      Assert.assertEquals(
+          south + ", " + west + ", " + north + ", " + east,
+          expected,
+          enumerate(south, west, north, east, 4));
+    }
+  }
+
+  @Test
+  public void testAntimeridian() {
+    Set<String> codes = enumerate(10.5, 179.5, 11.5, -179.5, 4);
+    Set<String> expected = new HashSet<>();
+    expected.add(OpenLocationCode.encode(10.7, 179.7, 4));
+    expected.add(OpenLocationCode.encode(10.7, -179.7, 4));
+    expected.add(OpenLocationCode.encode(11.2, 179.7, 4));
+    expected.add(OpenLocationCode.encode(11.2, -179.7, 4));
+    Assert.assertEquals(expected, codes);
+    // Boxes given with longitudes past the antimeridian are the same.
+    Assert.assertEquals(expected, enumerate(10.5, 179.5, 11.5, 180.5, 4));
+    Assert.assertEquals(expected, enumerate(10.5, -180.5, 11.5, -179.5, 4));
+  }
+
+  @Test
+  public void testEdges() {
+    // Northern and eastern edges on cell boundaries are exclusive.
+    Assert.assertEquals(4, new BoundingBoxCells(10, 20, 12, 22, 4).size());
+    // Boxes with no area cover the cell containing them.
+    Set<String> point = enumerate(47.365590, 8.524997, 47.365590, 8.524997, 10);
+    Assert.assertEquals(1, point.size());
+    Assert.assertTrue(point.contains(OpenLocationCode.encode(47.365590, 8.524997, 10)));
+    Assert.assertEquals(1, new BoundingBoxCells(10, 20, 10, 20, 4).size());
+    // Latitudes are clipped to the poles.
+    Assert.assertEquals(18, new BoundingBoxCells(89.5, -180, 100, 180, 2).size());
+    Assert.assertEquals(18, new BoundingBoxCells(-100, -180, -89.5, 180, 2).size());
+    // Wider than the globe.
+    Assert.assertEquals(9 * 18, new BoundingBoxCells(-90, -500, 90, 500, 2).size());
+    Assert.assertEquals(9 * 18, new BoundingBoxCells(-90, 10, 90, 370, 2).size());
+  }
+
+  @Test
+  public void testGridLevels() {
+    Set<String> codes = enumerate(47.3655, 8.5249, 47.3656, 8.5250, 11);
+    for (String code : codes) {
+      Assert.assertEquals(12, code.length());
+    }
+    // The grid cells are 1/5 by 1/4 of the length 10 cell size.
+    Assert.assertEquals(20, new BoundingBoxCells(0.00001, 0.00001, 0.00011, 0.00011, 11).size());
+  }
+
+  @Test
+  public void testIteratorAndForEach() {
+    BoundingBoxCells cells = new BoundingBoxCells(-1, -1, 1, 1, 6);
+    List<Long> iterated = new ArrayList<>();
+    cells.nextLong();
+    cells.forEachRemaining((long packed) -> iterated.add(packed));
+    Assert.assertFalse(cells.hasNext());
+    List<Long> all = new ArrayList<>();
+    BoundingBoxCells.forEach(-1, -1, 1, 1, 6, all::add);
+    Assert.assertEquals(all.subList(1, all.size()), iterated);
+    try {
+      cells.nextLong();
+      Assert.fail("Expected exception");
+    } catch (NoSuchElementException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testParallelStream() {
+    List<Long> cells = new ArrayList<>();
+    BoundingBoxCells.forEach(-3.3, 178.1, 2.9, -177.2, 6, cells::add);
+    long[] expected = cells.stream().mapToLong(Long::longValue).sorted().toArray();
+    long[] streamed = BoundingBoxCells.stream(-3.3, 178.1, 2.9, -177.2, 6).parallel().toArray();
+    Arrays.sort(streamed);
+    Assert.assertArrayEquals(expected, streamed);
+    Assert.assertEquals(
+        new BoundingBoxCells(-40, -80, 60, 70, 8).size(),
+        BoundingBoxCells.stream(-40, -80, 60, 70, 8).parallel().count());
+  }
+
+  @Test
+  public void testSplitsOnParentCells() {
+    Spliterator.OfLong suffix = BoundingBoxCells.spliterator(10.3, 20.6, 14.2, 22.1, 6);
+    long size = suffix.estimateSize();
+    Spliterator.OfLong prefix = suffix.trySplit();
+    Assert.assertEquals(size, prefix.estimateSize() + suffix.estimateSize());
+    // The box is split on a boundary of the length 4 cells.
+    Set<String> prefixParents = new HashSet<>();
+    prefix.forEachRemaining((long packed) -> prefixParents.add(parent(packed)));
+    Set<String> suffixParents = new HashSet<>();
+    suffix.forEachRemaining((long packed) -> suffixParents.add(parent(packed)));
+    Assert.assertEquals(15, prefixParents.size() + suffixParents.size());
+    Assert.assertTrue(Collections.disjoint(prefixParents, suffixParents));
+    // Single cells are not split.
+    Assert.assertNull(BoundingBoxCells.spliterator(1, 1, 1, 1, 10).trySplit());
+  }
+
+  private static String parent(long packed) {
+    return PackedCode.toCode(packed).substring(0, 4);
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      new BoundingBoxCells(10, 0, 5, 1, 4);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      new BoundingBoxCells(0, 0, 1, 1, 15);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
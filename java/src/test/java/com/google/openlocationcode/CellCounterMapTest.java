@@ -0,0 +1,82 @@
+package com.google.openlocationcode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the concurrent counts by cell. */
+@RunWith(JUnit4.class)
+public class CellCounterMapTest {
+
+  @Test
+  public void testConcurrentCounts() throws InterruptedException {
+    CellCounterMap counts = new CellCounterMap(1000);
+    int threadCount = 8;
+    int eventsPerThread = 200000;
+    // A few busy cells and many quiet ones, the same for every thread.
+    long[] cells = new long[500];
+    Random random = new Random(101);
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] =
+          PackedCode.encode(47 + random.nextDouble() * 0.1, 8 + random.nextDouble() * 0.1, 10);
+    }
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      threads[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                  // Half of the events are in the first cell.
+                  counts.increment(cells[i % 2 == 0 ? 0 : i % cells.length]);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < eventsPerThread; i++) {
+      expected.merge(cells[i % 2 == 0 ? 0 : i % cells.length], (long) threadCount, Long::sum);
+    }
+    Map<Long, Long> actual = new HashMap<>();
+    counts.forEach(actual::put);
+    Assert.assertEquals(expected, actual);
+    Assert.assertEquals(expected.size(), counts.size());
+    for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+      Assert.assertEquals(entry.getValue().longValue(), counts.get(entry.getKey()));
+    }
+  }
+
+  @Test
+  public void testAddAndLimits() {
+    CellCounterMap counts = new CellCounterMap(2, 1);
+    long cell = PackedCode.pack("8FVC9G8F+6X");
+    Assert.assertEquals(0, counts.get(cell));
+    counts.add(cell, 5);
+    counts.add(cell, -2);
+    Assert.assertEquals(3, counts.get(cell));
+    counts.increment(PackedCode.pack("8FVC9G8F+6W"));
+    Assert.assertEquals(2, counts.size());
+    try {
+      counts.increment(PackedCode.pack("8FVC9G8F+6V"));
+      Assert.fail("Expected exception");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    // Cells already in a full map can still be counted.
+    counts.increment(cell);
+    Assert.assertEquals(4, counts.get(cell));
+    try {
+      counts.increment(PackedCode.NO_CODE);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests unions of cells and their set operations. */
+@RunWith(JUnit4.class)
+public class CellUnionTest {
+
+  private static long[] children(String code, int codeLength) {
+    LongList children = new LongList();
+    RegionCoverer.forEachDescendant(PackedCode.pack(code), codeLength, children::add);
+    return children.toArray();
+  }
+
+  /** Returns random cells of mixed lengths inside 8FVC0000+. */
+  private static CellUnion randomUnion(Random random, int count) {
+    long[] cells = new long[count];
+    for (int i = 0; i < count; i++) {
+      double lat = 47 + random.nextDouble();
+      double lng = 8 + random.nextDouble();
+      cells[i] = PackedCode.encode(lat, lng, 6 + 2 * random.nextInt(3));
+    }
+    return CellUnion.of(cells);
+  }
+
+  @Test
+  public void testNormalize() {
+    // Duplicates and cells inside other cells are removed.
+    CellUnion union =
+        CellUnion.of(
+            PackedCode.pack("8FVC9G8F+6X"),
+            PackedCode.pack("8FVC9G00+"),
+            PackedCode.pack("8FVC9G00+"),
+            PackedCode.pack("8FVC9G8F+"));
+    Assert.assertEquals(Arrays.asList("8FVC9G00+"), union.getCodes());
+    // Complete groups of siblings become their parent.
+    Assert.assertEquals(
+        Arrays.asList("8FVC9G8F+6X"), CellUnion.of(children("8FVC9G8F+6X", 11)).getCodes());
+    Assert.assertEquals(
+        Arrays.asList("8FVC0000+"), CellUnion.of(children("8FVC0000+", 6)).getCodes());
+    // Merging cascades up through the lengths.
+    Assert.assertEquals(
+        Arrays.asList("8FVC9G00+"), CellUnion.of(children("8FVC9G00+", 11)).getCodes());
+    // An incomplete group is kept.
+    long[] cells = children("8FVC9G8F+6X", 11);
+    Assert.assertEquals(19, CellUnion.of(Arrays.copyOf(cells, 19)).size());
+    Assert.assertEquals(19, CellUnion.of(Arrays.copyOfRange(cells, 1, 20)).size());
+  }
+
+  @Test
+  public void testNormalizeKeepsGroupsAcrossParents() {
+    // The first half of the children of one cell and the second half of those of the next look
+    // like a complete group of siblings, but they have different parents.
+    long[] first = children("8FVC0000+", 6);
+    long[] second = children("8FVF0000+", 6);
+    Arrays.sort(first);
+    Arrays.sort(second);
+    long[] cells = Arrays.copyOf(first, 400);
+    System.arraycopy(second, 200, cells, 200, 200);
+    CellUnion union = CellUnion.of(cells);
+    Assert.assertEquals(400, union.size());
+    Assert.assertTrue(union.contains(first[0]));
+    Assert.assertFalse(union.contains(first[399]));
+    Assert.assertFalse(union.contains(second[0]));
+    Assert.assertTrue(union.contains(second[399]));
+    Assert.assertEquals(
+        union,
+        CellUnion.of(Arrays.copyOf(first, 200))
+            .union(CellUnion.of(second).difference(CellUnion.of(Arrays.copyOf(second, 200)))));
+  }
+
+  @Test
+  public void testContains() {
+    CellUnion union = CellUnion.fromCodes(Arrays.asList("8FVC9G00+", "9C3W9Q00+"));
+    Assert.assertTrue(union.contains(PackedCode.pack("8FVC9G8F+6X")));
+    Assert.assertTrue(union.contains(PackedCode.pack("9C3W9Q00+")));
+    Assert.assertFalse(union.contains(PackedCode.pack("8FVC0000+")));
+    Assert.assertFalse(union.contains(PackedCode.pack("8FVC9H00+")));
+    Assert.assertTrue(union.contains(47.3656, 8.5250));
+    Assert.assertFalse(union.contains(0, 0));
+    Assert.assertTrue(union.contains(CellUnion.fromCodes(Arrays.asList("8FVC9G8F+", "9C3W9QC2+"))));
+    Assert.assertFalse(
+        union.contains(CellUnion.fromCodes(Arrays.asList("8FVC9G8F+", "9C3W0000+"))));
+    Assert.assertTrue(union.contains(CellUnion.empty()));
+  }
+
+  @Test
+  public void testSetOperations() {
+    Random random = new Random(31);
+    for (int i = 0; i < 50; i++) {
+      CellUnion a = randomUnion(random, 60);
+      CellUnion b = randomUnion(random, 60);
+      CellUnion union = a.union(b);
+      CellUnion intersection = a.intersection(b);
+      CellUnion difference = a.difference(b);
+      Assert.assertEquals(union, b.union(a));
+      Assert.assertEquals(intersection, b.intersection(a));
+      Assert.assertTrue(union.contains(a) && union.contains(b));
+      Assert.assertTrue(a.contains(intersection) && b.contains(intersection));
+      Assert.assertEquals(!intersection.isEmpty(), a.intersects(b));
+      Assert.assertFalse(difference.intersects(b));
+      Assert.assertEquals(a, difference.union(intersection));
+      for (int j = 0; j < 200; j++) {
+        long cell = PackedCode.encode(47 + random.nextDouble(), 8 + random.nextDouble(), 10);
+        Assert.assertEquals(a.contains(cell) || b.contains(cell), union.contains(cell));
+        Assert.assertEquals(a.contains(cell) && b.contains(cell), intersection.contains(cell));
+        Assert.assertEquals(a.contains(cell) && !b.contains(cell), difference.contains(cell));
+      }
+    }
+  }
+
+  @Test
+  public void testDifferenceSplitsCells() {
+    CellUnion whole = CellUnion.fromCodes(Arrays.asList("8FVC0000+"));
+    CellUnion hole = CellUnion.fromCodes(Arrays.asList("8FVC9G8F+6X"));
+    CellUnion difference = whole.difference(hole);
+    // 399 cells of each of the lengths 6, 8 and 10.
+    Assert.assertEquals(3 * 399, difference.size());
+    Assert.assertFalse(difference.contains(PackedCode.pack("8FVC9G8F+6X")));
+    Assert.assertTrue(difference.contains(PackedCode.pack("8FVC9G8F+6W")));
+    Assert.assertEquals(whole, difference.union(hole));
+    Assert.assertTrue(whole.difference(whole).isEmpty());
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      CellUnion.of(PackedCode.NO_CODE);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
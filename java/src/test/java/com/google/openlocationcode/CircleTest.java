@@ -0,0 +1,167 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the circle region and covering circles with cells. */
+@RunWith(JUnit4.class)
+public class CircleTest {
+
+  @Test
+  public void testDistance() {
+    // One degree of latitude.
+    Assert.assertEquals(111195, Circle.distanceMeters(10, 20, 11, 20), 1);
+    // One degree of longitude at 60 degrees is about half as long as at the equator.
+    Assert.assertEquals(
+        Circle.distanceMeters(0, 0, 0, 1) / 2, Circle.distanceMeters(60, 0, 60, 1), 50);
+    // Across the antimeridian.
+    Assert.assertEquals(
+        Circle.distanceMeters(0, 179.5, 0, 180.5),
+        Circle.distanceMeters(0, 179.5, 0, -179.5),
+        1e-6);
+  }
+
+  @Test
+  public void testRectangles() {
+    Circle circle = new Circle(47.3656, 8.5250, 1000);
+    Assert.assertTrue(circle.contains(47.3656, 8.5250));
+    Assert.assertFalse(circle.contains(47.3856, 8.5250));
+    Assert.assertTrue(circle.containsRectangle(47.365, 8.524, 47.366, 8.526));
+    Assert.assertTrue(circle.intersectsRectangle(47.3, 8.4, 47.4, 8.6));
+    Assert.assertFalse(circle.containsRectangle(47.3, 8.4, 47.4, 8.6));
+    // Due east, within 0.012 degrees of longitude but not within 0.015.
+    Assert.assertTrue(circle.intersectsRectangle(47.0, 8.537, 48.0, 8.6));
+    Assert.assertFalse(circle.intersectsRectangle(47.0, 8.540, 48.0, 8.6));
+    // Close to a corner only.
+    Assert.assertTrue(circle.intersectsRectangle(47.372, 8.532, 47.4, 8.6));
+    Assert.assertFalse(circle.intersectsRectangle(47.3725, 8.5345, 47.4, 8.6));
+  }
+
+  @Test
+  public void testContainsRectangleAcrossAntipodalMeridian() {
+    // The farthest point is inside the northern and southern edges, on the meridian opposite the
+    // center, not at a corner.
+    double radius = Circle.distanceMeters(89, 0, 88, 179) + 1;
+    Circle circle = new Circle(89, 0, radius);
+    Assert.assertFalse(circle.contains(88, 180));
+    Assert.assertFalse(circle.containsRectangle(88, 179, 89.5, -179));
+    Assert.assertFalse(circle.containsRectangle(88, 179, 89.5, 181));
+    radius = Circle.distanceMeters(89, 1, 88, -179.5) + 1;
+    circle = new Circle(89, 1, radius);
+    Assert.assertFalse(circle.contains(88, -179));
+    Assert.assertFalse(circle.containsRectangle(88, -179.5, 89.5, -178.5));
+    Assert.assertTrue(circle.containsRectangle(88.5, -179.5, 89.5, -178.5));
+  }
+
+  @Test
+  public void testRectanglesMatchSampledPoints() {
+    Random random = new Random(29);
+    for (int i = 0; i < 2000; i++) {
+      double lat = random.nextDouble() * 180 - 90;
+      double lng = random.nextDouble() * 360 - 180;
+      Circle circle = new Circle(lat, lng, random.nextDouble() * 2e7);
+      double south = random.nextDouble() * 170 - 90;
+      double north = Math.min(90, south + random.nextDouble() * 20);
+      double west = random.nextDouble() * 340 - 180;
+      double east = Math.min(180, west + random.nextDouble() * 40);
+      boolean all = true;
+      boolean any = false;
+      for (int row = 0; row <= 20; row++) {
+        for (int column = 0; column <= 20; column++) {
+          boolean contained =
+              circle.contains(
+                  south + (north - south) * row / 20, west + (east - west) * column / 20);
+          all &= contained;
+          any |= contained;
+        }
+      }
+      String message = circle.getLatitude() + "," + circle.getLongitude() + " " + i;
+      if (!all) {
+        Assert.assertFalse(message, circle.containsRectangle(south, west, north, east));
+      }
+      if (any) {
+        Assert.assertTrue(message, circle.intersectsRectangle(south, west, north, east));
+      }
+    }
+  }
+
+  @Test
+  public void testCoverMatchesBruteForce() {
+    Random random = new Random(11);
+    for (int i = 0; i < 200; i++) {
+      double lat = random.nextDouble() * 170 - 85;
+      double lng = random.nextDouble() * 360 - 180;
+      double radius = random.nextDouble() * 300000;
+      long[] cells = RegionCoverer.coverCircle(lat, lng, radius, 4);
+      Circle circle = new Circle(lat, lng, radius);
+      long[] expected =
+          BoundingBoxCells.stream(-90, -180, 90, 180, 4)
+              .filter(cell -> RegionCoverer.intersects(circle, cell))
+              .sorted()
+              .toArray();
+      Assert.assertArrayEquals(lat + "," + lng + "," + radius, expected, cells);
+    }
+  }
+
+  @Test
+  public void testCoverContainsPoints() {
+    double lat = 60.1699;
+    double lng = 24.9384;
+    long[] cells = RegionCoverer.coverCircle(lat, lng, 500, 10);
+    Random random = new Random(3);
+    for (int i = 0; i < 1000; i++) {
+      // Longitude degrees are about twice as short here as latitude degrees.
+      double pointLat = lat + (random.nextDouble() - 0.5) * 0.01;
+      double pointLng = lng + (random.nextDouble() - 0.5) * 0.02;
+      if (Circle.distanceMeters(lat, lng, pointLat, pointLng) <= 500) {
+        long cell = PackedCode.encode(pointLat, pointLng, 10);
+        Assert.assertTrue(Arrays.binarySearch(cells, cell) >= 0);
+      }
+    }
+    for (long cell : cells) {
+      CodeArea area = PackedCode.decode(cell);
+      Assert.assertTrue(
+          Circle.distanceMeters(lat, lng, area.getCenterLatitude(), area.getCenterLongitude())
+              < 500 + 20);
+    }
+  }
+
+  @Test
+  public void testCoverPoleAndAntimeridian() {
+    long[] cells = RegionCoverer.coverCircle(89.5, 0, 100000, 2);
+    // The circle crosses the pole, so it includes the whole northern row.
+    Assert.assertEquals(18, cells.length);
+    cells = RegionCoverer.coverCircle(0.5, 179.9, 50000, 4);
+    boolean west = false;
+    boolean east = false;
+    for (long cell : cells) {
+      double center = PackedCode.decode(cell).getCenterLongitude();
+      west |= center < 0;
+      east |= center > 0;
+    }
+    Assert.assertTrue(west && east);
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      RegionCoverer.coverCircle(91, 0, 10, 10);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      RegionCoverer.coverCircle(0, 0, -1, 10);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.google.openlocationcode;
+
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests that coarse codes are encoded and decoded with the shared tables. */
+@RunWith(JUnit4.class)
+public class CoarseCodeTableTest {
+
+  @Test
+  public void testEncodeMatchesLongerCodes() {
+    Random random = new Random(47);
+    for (int i = 0; i < 10000; i++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+      String code = OpenLocationCode.encode(latitude, longitude, 10);
+      Assert.assertEquals(
+          code.substring(0, 2) + "000000+", OpenLocationCode.encode(latitude, longitude, 2));
+      Assert.assertEquals(
+          code.substring(0, 4) + "0000+", OpenLocationCode.encode(latitude, longitude, 4));
+    }
+    // Edges of the globe.
+    Assert.assertEquals("CV000000+", OpenLocationCode.encode(90, 179.99, 2));
+    Assert.assertEquals("CVXX0000+", OpenLocationCode.encode(90, 179.99, 4));
+    Assert.assertEquals("22220000+", OpenLocationCode.encode(-90, -180, 4));
+  }
+
+  @Test
+  public void testDecode() {
+    Random random = new Random(53);
+    for (int i = 0; i < 10000; i++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+      for (int length : new int[] {2, 4}) {
+        String code = OpenLocationCode.encode(latitude, longitude, length);
+        CodeArea area = OpenLocationCode.decode(code);
+        double size = length == 2 ? 20 : 1;
+        Assert.assertEquals(length, area.getLength());
+        Assert.assertEquals(size, area.getLatitudeHeight(), 1e-9);
+        Assert.assertEquals(size, area.getLongitudeWidth(), 1e-9);
+        Assert.assertTrue(area.getSouthLatitude() <= latitude);
+        Assert.assertTrue(latitude < area.getNorthLatitude());
+        Assert.assertTrue(area.getWestLongitude() <= longitude);
+        Assert.assertTrue(longitude < area.getEastLongitude());
+      }
+    }
+    Assert.assertEquals(47, OpenLocationCode.decode("8fvc0000+").getSouthLatitude(), 0);
+  }
+
+  @Test
+  public void testSharedInstances() {
+    Assert.assertSame(
+        OpenLocationCode.encode(47.37, 8.54, 4), OpenLocationCode.encode(47.9, 8.1, 4));
+    Assert.assertSame(OpenLocationCode.decode("8FVC0000+"), OpenLocationCode.decode("8fvc0000+"));
+    Assert.assertSame(
+        OpenLocationCode.decode("8F000000+"), new OpenLocationCode(40, 10, 2).decode());
+  }
+}
@@ -0,0 +1,64 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests finding the indexed codes that contain points. */
+@RunWith(JUnit4.class)
+public class ContainmentIndexTest {
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(59);
+    int[] lengths = {4, 6, 8, 10, 11};
+    long[] cells = new long[5000];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] =
+          PackedCode.encode(
+              47 + random.nextDouble() * 0.5,
+              8 + random.nextDouble() * 0.5,
+              lengths[random.nextInt(lengths.length)]);
+    }
+    ContainmentIndex index = ContainmentIndex.of(cells);
+    long[] distinct = Arrays.stream(cells).distinct().sorted().toArray();
+    Assert.assertEquals(distinct.length, index.size());
+    for (int i = 0; i < 2000; i++) {
+      double lat = 47 + random.nextDouble() * 0.5;
+      double lng = 8 + random.nextDouble() * 0.5;
+      String code = OpenLocationCode.encode(lat, lng, 15);
+      long[] expected =
+          Arrays.stream(distinct)
+              .filter(cell -> new OpenLocationCode(PackedCode.toCode(cell)).contains(lat, lng))
+              .toArray();
+      long[] found = index.containing(lat, lng);
+      // Both are in code order, which is from the shortest for nested codes.
+      Assert.assertArrayEquals(code, expected, found);
+      Assert.assertEquals(found.length > 0, index.containsPoint(lat, lng));
+    }
+  }
+
+  @Test
+  public void testContainingCell() {
+    ContainmentIndex index =
+        ContainmentIndex.fromCodes(
+            Arrays.asList("8FVC0000+", "8FVC9G00+", "8FVC9G8F+6X", "8FVC9G8F+6W", "9C3W0000+"));
+    Assert.assertEquals(5, index.size());
+    long[] found = index.containing(PackedCode.pack("8FVC9G8F+6XQ"));
+    Assert.assertArrayEquals(
+        new long[] {
+          PackedCode.pack("8FVC0000+"), PackedCode.pack("8FVC9G00+"), PackedCode.pack("8FVC9G8F+6X")
+        },
+        found);
+    // Codes longer than the cell do not contain it.
+    Assert.assertArrayEquals(
+        new long[] {PackedCode.pack("8FVC0000+")}, index.containing(PackedCode.pack("8FVC0000+")));
+    Assert.assertEquals(0, index.containing(0, 0).length);
+    Assert.assertFalse(index.containsPoint(0, 0));
+    Assert.assertEquals(0, ContainmentIndex.of().containing(47.3656, 8.525).length);
+  }
+}
@@ -0,0 +1,116 @@
+package com.google.openlocationcode;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests writing decoded coordinates as text. */
+@RunWith(JUnit4.class)
+public class CoordinateFormatterTest {
+
+  private static String expected(BigDecimal value, int digits) {
+    BigDecimal rounded = value.setScale(digits, RoundingMode.HALF_UP);
+    if (rounded.signum() == 0) {
+      return "0";
+    }
+    return rounded.stripTrailingZeros().toPlainString();
+  }
+
+  private static BigDecimal latitude(long integer) {
+    return BigDecimal.valueOf(integer - 90 * OpenLocationCode.LAT_INTEGER_MULTIPLIER)
+        .divide(BigDecimal.valueOf(OpenLocationCode.LAT_INTEGER_MULTIPLIER));
+  }
+
+  private static BigDecimal longitude(long integer) {
+    return BigDecimal.valueOf(integer - 180 * OpenLocationCode.LNG_INTEGER_MULTIPLIER)
+        .divide(BigDecimal.valueOf(OpenLocationCode.LNG_INTEGER_MULTIPLIER));
+  }
+
+  @Test
+  public void testMatchesBigDecimal() {
+    Random random = new Random(3);
+    int[] lengths = {2, 4, 6, 8, 10, 11, 12, 13};
+    char[] chars = new char[4 * CoordinateFormatter.MAX_VALUE_LENGTH + 3];
+    for (int digits = 0; digits <= CoordinateFormatter.MAX_FRACTION_DIGITS; digits++) {
+      CoordinateFormatter formatter = new CoordinateFormatter(digits);
+      for (int i = 0; i < 500; i++) {
+        long packed =
+            PackedCode.encode(
+                random.nextDouble() * 180 - 90,
+                random.nextDouble() * 360 - 180,
+                lengths[i % lengths.length]);
+        int length = PackedCode.length(packed);
+        long southInteger = PackedCode.southInteger(packed);
+        long westInteger = PackedCode.westInteger(packed);
+        BigDecimal south = latitude(southInteger);
+        BigDecimal west = longitude(westInteger);
+        BigDecimal north = latitude(southInteger + PackedCode.latitudeCellSize(length));
+        BigDecimal east = longitude(westInteger + PackedCode.longitudeCellSize(length));
+        BigDecimal two = BigDecimal.valueOf(2);
+
+        String want =
+            expected(south, digits)
+                + ","
+                + expected(west, digits)
+                + ","
+                + expected(north, digits)
+                + ","
+                + expected(east, digits);
+        int end = formatter.formatBounds(packed, chars, 0);
+        Assert.assertEquals(want, new String(chars, 0, end));
+        ByteBuffer buffer = ByteBuffer.allocate(chars.length);
+        formatter.formatBounds(packed, buffer);
+        Assert.assertEquals(want, new String(buffer.array(), 0, buffer.position(), US_ASCII));
+
+        want =
+            expected(south.add(north).divide(two), digits)
+                + ","
+                + expected(west.add(east).divide(two), digits);
+        end = formatter.formatCenter(packed, chars, 0);
+        Assert.assertEquals(want, new String(chars, 0, end));
+        buffer.clear();
+        formatter.formatCenter(packed, buffer);
+        Assert.assertEquals(want, new String(buffer.array(), 0, buffer.position(), US_ASCII));
+      }
+    }
+  }
+
+  @Test
+  public void testExactBoundsRoundTrip() {
+    CoordinateFormatter formatter =
+        new CoordinateFormatter(CoordinateFormatter.MAX_FRACTION_DIGITS);
+    char[] chars = new char[CoordinateFormatter.MAX_VALUE_LENGTH];
+    long packed = PackedCode.pack("7FG49QCJ+2VXGJ");
+    CodeArea area = PackedCode.decode(packed);
+    int end = formatter.formatLatitude(PackedCode.southInteger(packed), chars, 0);
+    Assert.assertEquals("20.370113", new String(chars, 0, end));
+    Assert.assertEquals(area.getSouthLatitude(), Double.parseDouble(new String(chars, 0, end)), 0);
+    end = formatter.formatLongitude(PackedCode.westInteger(packed), chars, 0);
+    Assert.assertEquals("2.782234375", new String(chars, 0, end));
+    Assert.assertEquals(area.getWestLongitude(), Double.parseDouble(new String(chars, 0, end)), 0);
+  }
+
+  @Test
+  public void testSeparatorAndRounding() {
+    CoordinateFormatter formatter = new CoordinateFormatter(3, '\t');
+    char[] chars = new char[64];
+    // The center of 8FVC2222+22 is 47.0000625,8.0000625.
+    int end = formatter.formatCenter(PackedCode.pack("8FVC2222+22"), chars, 0);
+    Assert.assertEquals("47\t8", new String(chars, 0, end));
+    // Values rounding to zero are written without a sign.
+    end = formatter.formatLatitude(90 * OpenLocationCode.LAT_INTEGER_MULTIPLIER - 1, chars, 0);
+    Assert.assertEquals("0", new String(chars, 0, end));
+    end = formatter.formatLongitude(0, chars, 0);
+    Assert.assertEquals("-180", new String(chars, 0, end));
+  }
+}
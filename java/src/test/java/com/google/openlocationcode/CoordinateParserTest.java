@@ -0,0 +1,124 @@
+package com.google.openlocationcode;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests parsing decimal degree text into integer values. */
+@RunWith(JUnit4.class)
+public class CoordinateParserTest {
+
+  @Test
+  public void testEncodingData() throws Exception {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new FileInputStream(TestUtils.getTestFile("encoding.csv")), UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("#") || line.length() == 0) {
+          continue;
+        }
+        String[] parts = line.split(",");
+        Assert.assertEquals(
+            "Wrong latitude integer for " + line,
+            Long.parseLong(parts[2]),
+            CoordinateParser.parseLatitude(parts[0]));
+        Assert.assertEquals(
+            "Wrong longitude integer for " + line,
+            Long.parseLong(parts[3]),
+            CoordinateParser.parseLongitude(parts[1]));
+        Assert.assertEquals(
+            "Wrong code for " + line,
+            parts[5],
+            CoordinateParser.encode(parts[0], parts[1], Integer.parseInt(parts[4])));
+      }
+    }
+  }
+
+  @Test
+  public void testCellEdges() {
+    // 47.0000625 is exactly on a cell edge but is not exactly representable as a double.
+    Assert.assertEquals(3425001562L, CoordinateParser.parseLatitude("47.0000625"));
+    Assert.assertEquals(
+        "8FVC2222+2", CoordinateParser.encode("47.0000625", "8.0000625", 10).substring(0, 10));
+    // Negative values are floored towards the south and west.
+    Assert.assertEquals(
+        90 * OpenLocationCode.LAT_INTEGER_MULTIPLIER - 1,
+        CoordinateParser.parseLatitude("-0.00000001"));
+    Assert.assertEquals(
+        90 * OpenLocationCode.LAT_INTEGER_MULTIPLIER - 1,
+        CoordinateParser.parseLatitude("-0.000000000000000000001"));
+    Assert.assertEquals(
+        90 * OpenLocationCode.LAT_INTEGER_MULTIPLIER - 25,
+        CoordinateParser.parseLatitude("-0.000001000000000000000"));
+    Assert.assertEquals(
+        180 * OpenLocationCode.LNG_INTEGER_MULTIPLIER - 9,
+        CoordinateParser.parseLongitude("-.000001"));
+  }
+
+  @Test
+  public void testMatchesDoubleParsing() {
+    String[] values = {
+      "0",
+      "1",
+      "-1",
+      "12.5",
+      "-12.5",
+      "89.99999",
+      "-89.99999",
+      "179.123456789",
+      "-179.987654321",
+      "  3.25\t",
+      "+7.125",
+      "45.",
+      ".75",
+      "0.0000001"
+    };
+    for (String value : values) {
+      double degrees = Double.parseDouble(value);
+      Assert.assertEquals(
+          value,
+          OpenLocationCode.latitudeToInteger(degrees),
+          CoordinateParser.parseLatitude(value));
+      Assert.assertEquals(
+          value,
+          OpenLocationCode.longitudeToInteger(degrees),
+          CoordinateParser.parseLongitude(value));
+    }
+  }
+
+  @Test
+  public void testClippingAndNormalisation() {
+    Assert.assertEquals(CoordinateParser.parseLatitude("90"), CoordinateParser.parseLatitude("91"));
+    Assert.assertEquals(
+        CoordinateParser.parseLatitude("-90"),
+        CoordinateParser.parseLatitude("-123456789012345678901"));
+    Assert.assertEquals(
+        CoordinateParser.parseLongitude("175"), CoordinateParser.parseLongitude("-185"));
+    Assert.assertEquals(
+        CoordinateParser.parseLongitude("-175.5"), CoordinateParser.parseLongitude("904.5"));
+    Assert.assertEquals(
+        CoordinateParser.parseLongitude("10.25"), CoordinateParser.parseLongitude("3610.25"));
+  }
+
+  @Test
+  public void testInvalid() {
+    String[] values = {"", " ", "-", ".", "1e5", "1.2.3", "12a", "--1", "1 2"};
+    for (String value : values) {
+      try {
+        CoordinateParser.parseLatitude(value);
+        Assert.fail("Expected exception for \"" + value + "\"");
+      } catch (NumberFormatException e) {
+        // Expected.
+      }
+    }
+  }
+}
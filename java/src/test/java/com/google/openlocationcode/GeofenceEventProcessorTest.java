@@ -0,0 +1,112 @@
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests turning positions into fence events. */
+@RunWith(JUnit4.class)
+public class GeofenceEventProcessorTest {
+
+  /** Records events as text. */
+  private static final class Recorder implements GeofenceEventProcessor.Listener {
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onEnter(long entityId, long fenceId, long timestamp) {
+      events.add("enter " + entityId + " " + fenceId + " " + timestamp);
+    }
+
+    @Override
+    public void onExit(long entityId, long fenceId, long timestamp) {
+      events.add("exit " + entityId + " " + fenceId + " " + timestamp);
+    }
+  }
+
+  private static Polygon square(double south, double west, double north, double east) {
+    return new Polygon(
+        new double[] {south, south, north, north}, new double[] {west, east, east, west});
+  }
+
+  @Test
+  public void testEvents() {
+    Recorder recorder = new Recorder();
+    GeofenceEventProcessor processor =
+        GeofenceEventProcessor.of(
+            new long[] {1, 2},
+            new Polygon[] {square(47, 8, 47.1, 8.1), square(47.05, 8.05, 47.2, 8.2)},
+            recorder);
+    processor.update(5, 46.99, 8.01, 100);
+    processor.update(5, 47.01, 8.01, 101);
+    processor.update(5, 47.011, 8.011, 102);
+    processor.update(5, 47.07, 8.07, 103);
+    processor.update(5, 47.15, 8.15, 104);
+    processor.update(6, 47.15, 8.15, 105);
+    Assert.assertEquals(2, processor.size());
+    Assert.assertArrayEquals(new long[] {2}, processor.getFences(5));
+    processor.remove(5, 106);
+    processor.remove(5, 107);
+    Assert.assertEquals(0, processor.getFences(5).length);
+    Assert.assertEquals(1, processor.size());
+    Assert.assertEquals(
+        Arrays.asList(
+            "enter 5 1 101", "enter 5 2 103", "exit 5 1 104", "enter 6 2 105", "exit 5 2 106"),
+        recorder.events);
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(79);
+    int fenceCount = 50;
+    long[] ids = new long[fenceCount];
+    Polygon[] fences = new Polygon[fenceCount];
+    for (int i = 0; i < fenceCount; i++) {
+      ids[i] = i * 10;
+      double south = 47 + random.nextDouble() * 0.2;
+      double west = 8 + random.nextDouble() * 0.2;
+      // Triangles, so that most fences have boundary cells along a diagonal edge.
+      double size = 0.005 + random.nextDouble() * 0.05;
+      fences[i] =
+          new Polygon(
+              new double[] {south, south, south + size}, new double[] {west, west + size, west});
+    }
+    Recorder recorder = new Recorder();
+    GeofenceEventProcessor processor = GeofenceEventProcessor.of(ids, fences, recorder);
+    int entityCount = 20;
+    double[] lats = new double[entityCount];
+    double[] lngs = new double[entityCount];
+    boolean[][] inside = new boolean[entityCount][fenceCount];
+    List<String> expected = new ArrayList<>();
+    for (int e = 0; e < entityCount; e++) {
+      lats[e] = 47 + random.nextDouble() * 0.25;
+      lngs[e] = 8 + random.nextDouble() * 0.25;
+    }
+    for (int step = 0; step < 20000; step++) {
+      int e = random.nextInt(entityCount);
+      lats[e] += (random.nextDouble() - 0.5) * 0.001;
+      lngs[e] += (random.nextDouble() - 0.5) * 0.001;
+      processor.update(e, lats[e], lngs[e], step);
+      // The processor reports exits before enters, each in increasing order of fence id.
+      for (int f = 0; f < fenceCount; f++) {
+        if (inside[e][f] && !fences[f].contains(lats[e], lngs[e])) {
+          inside[e][f] = false;
+          expected.add("exit " + e + " " + ids[f] + " " + step);
+        }
+      }
+      for (int f = 0; f < fenceCount; f++) {
+        if (!inside[e][f] && fences[f].contains(lats[e], lngs[e])) {
+          inside[e][f] = true;
+          expected.add("enter " + e + " " + ids[f] + " " + step);
+        }
+      }
+    }
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected, recorder.events);
+  }
+}
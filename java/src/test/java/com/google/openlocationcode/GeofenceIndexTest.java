@@ -0,0 +1,91 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests finding the fences that contain points. */
+@RunWith(JUnit4.class)
+public class GeofenceIndexTest {
+
+  /** Returns a random star shaped polygon around a point. */
+  private static Polygon star(Random random, double lat, double lng, double radius) {
+    int n = 5 + random.nextInt(20);
+    double[] lats = new double[n];
+    double[] lngs = new double[n];
+    for (int i = 0; i < n; i++) {
+      double angle = 2 * Math.PI * i / n;
+      double r = radius * (0.3 + 0.7 * random.nextDouble());
+      lats[i] = lat + r * Math.sin(angle);
+      lngs[i] = lng + r * Math.cos(angle);
+    }
+    return new Polygon(lats, lngs);
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(71);
+    int count = 300;
+    long[] ids = new long[count];
+    Polygon[] fences = new Polygon[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = 1000 + i;
+      fences[i] =
+          star(
+              random,
+              47 + random.nextDouble(),
+              8 + random.nextDouble(),
+              0.005 + random.nextDouble() * 0.1);
+    }
+    GeofenceIndex index = GeofenceIndex.of(ids, fences);
+    Assert.assertEquals(count, index.size());
+    int found = 0;
+    for (int i = 0; i < 5000; i++) {
+      double lat = 47 + random.nextDouble();
+      double lng = 8 + random.nextDouble();
+      long[] expected = new long[0];
+      for (int j = 0; j < count; j++) {
+        if (fences[j].contains(lat, lng)) {
+          expected = Arrays.copyOf(expected, expected.length + 1);
+          expected[expected.length - 1] = ids[j];
+        }
+      }
+      long[] actual = index.containing(lat, lng);
+      Arrays.sort(actual);
+      Assert.assertArrayEquals(lat + "," + lng, expected, actual);
+      found += actual.length;
+    }
+    Assert.assertTrue(found > 0);
+  }
+
+  @Test
+  public void testInteriorAndBoundary() {
+    // A square with a small square notch cut out of its north east corner.
+    Polygon notched =
+        new Polygon(
+            new double[] {10, 10, 10.9, 10.9, 11, 11}, new double[] {20, 21, 21, 20.9, 20.9, 20});
+    Polygon square =
+        new Polygon(new double[] {10.5, 10.5, 12, 12}, new double[] {20.5, 22, 22, 20.5});
+    GeofenceIndex index =
+        GeofenceIndex.of(
+            new long[] {7, 9}, new Polygon[] {notched, square}, new RegionCoverer(2, 8, 64));
+    Assert.assertArrayEquals(new long[] {7}, index.containing(10.2, 20.2));
+    long[] both = index.containing(10.7, 20.7);
+    Arrays.sort(both);
+    Assert.assertArrayEquals(new long[] {7, 9}, both);
+    Assert.assertArrayEquals(new long[] {9}, index.containing(10.95, 20.95));
+    Assert.assertArrayEquals(new long[] {9}, index.containing(11.5, 21.5));
+    Assert.assertEquals(0, index.containing(9.5, 20.5).length);
+    Assert.assertEquals(0, GeofenceIndex.of(new long[0], new Polygon[0]).containing(10, 20).length);
+    try {
+      GeofenceIndex.of(new long[] {1}, new Polygon[0]);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests finding neighbouring cells in the grid. */
+@RunWith(JUnit4.class)
+public class GridNeighborsTest {
+
+  /** Dilates cells by adding the neighbours of each cell one by one. */
+  private static long[] bruteForceDilate(long[] cells, int k) {
+    TreeSet<Long> result = new TreeSet<>();
+    for (long cell : cells) {
+      int length = PackedCode.length(cell);
+      long row = PackedCode.latitudeIndex(cell);
+      long column = PackedCode.longitudeIndex(cell);
+      for (long r = row - k; r <= row + k; r++) {
+        if (r < 0 || r >= PackedCode.latitudeCells(length)) {
+          continue;
+        }
+        for (long c = column - k; c <= column + k; c++) {
+          result.add(
+              PackedCode.fromIndices(
+                  r, Math.floorMod(c, PackedCode.longitudeCells(length)), length));
+        }
+      }
+    }
+    long[] array = new long[result.size()];
+    int i = 0;
+    for (long cell : result) {
+      array[i++] = cell;
+    }
+    return array;
+  }
+
+  @Test
+  public void testDilateMatchesBruteForce() {
+    Random random = new Random(37);
+    for (int i = 0; i < 200; i++) {
+      int k = random.nextInt(4);
+      long[] cells = new long[1 + random.nextInt(30)];
+      // Clusters of cells near the poles and the antimeridian.
+      double lat = random.nextDouble() * 180 - 90;
+      double lng = random.nextBoolean() ? 179 : random.nextDouble() * 360 - 180;
+      for (int j = 0; j < cells.length; j++) {
+        cells[j] =
+            PackedCode.encode(lat + random.nextGaussian() * 3, lng + random.nextGaussian() * 3, 4);
+      }
+      Assert.assertArrayEquals(bruteForceDilate(cells, k), GridNeighbors.dilate(cells, k));
+    }
+  }
+
+  @Test
+  public void testDilate() {
+    long cell = PackedCode.pack("8FVC9G8F+6X");
+    Assert.assertEquals(25, GridNeighbors.dilate(new long[] {cell}, 2).length);
+    Assert.assertArrayEquals(new long[] {cell}, GridNeighbors.dilate(new long[] {cell, cell}, 0));
+    Assert.assertEquals(0, GridNeighbors.dilate(new long[0], 3).length);
+    // A wide neighbourhood covers the whole row.
+    long[] cells = GridNeighbors.dilate(new long[] {PackedCode.pack("8F000000+")}, 10);
+    Assert.assertEquals(18 * 9, cells.length);
+  }
+
+  private static long[] sorted(PrimitiveIterator.OfLong iterator) {
+    LongList cells = new LongList();
+    iterator.forEachRemaining((long cell) -> cells.add(cell));
+    return cells.toSortedArray();
+  }
+
+  @Test
+  public void testNeighbors() {
+    long cell = PackedCode.pack("8FVC9G8F+6X");
+    long[] neighbors = sorted(GridNeighbors.neighbors(cell));
+    Assert.assertEquals(8, neighbors.length);
+    CodeArea area = PackedCode.decode(cell);
+    for (long neighbor : neighbors) {
+      CodeArea other = PackedCode.decode(neighbor);
+      Assert.assertEquals(10, other.getLength());
+      double latCells =
+          (other.getCenterLatitude() - area.getCenterLatitude()) / area.getLatitudeHeight();
+      double lngCells =
+          (other.getCenterLongitude() - area.getCenterLongitude()) / area.getLongitudeWidth();
+      Assert.assertEquals(
+          1, Math.max(Math.abs(Math.round(latCells)), Math.abs(Math.round(lngCells))));
+    }
+    // Next to the north pole and the antimeridian.
+    neighbors = sorted(GridNeighbors.neighbors(PackedCode.encode(89.9999, 179.9999, 10)));
+    Assert.assertEquals(5, neighbors.length);
+    Assert.assertTrue(
+        Arrays.binarySearch(neighbors, PackedCode.encode(89.9999, -179.9999, 10)) >= 0);
+  }
+
+  @Test
+  public void testRingMatchesDilate() {
+    Random random = new Random(41);
+    for (int i = 0; i < 200; i++) {
+      int length = random.nextBoolean() ? 2 : 4;
+      long cell =
+          PackedCode.encode(
+              random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, length);
+      int k = random.nextInt(12);
+      long[] inner = k == 0 ? new long[0] : GridNeighbors.dilate(new long[] {cell}, k - 1);
+      LongList expected = new LongList();
+      for (long other : GridNeighbors.dilate(new long[] {cell}, k)) {
+        if (Arrays.binarySearch(inner, other) < 0) {
+          expected.add(other);
+        }
+      }
+      PrimitiveIterator.OfLong ring = GridNeighbors.ring(cell, k);
+      Assert.assertArrayEquals(expected.toArray(), sorted(ring));
+      Assert.assertFalse(ring.hasNext());
+    }
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      GridNeighbors.ring(PackedCode.pack("8FVC9G8F+"), -1);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      GridNeighbors.dilate(
+          new long[] {PackedCode.pack("8FVC9G8F+6X"), PackedCode.pack("8FVC9G8F+")}, 1);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      GridNeighbors.dilate(new long[] {PackedCode.pack("8FVC9G8F+")}, -1);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    // Packed codes with no length, or an odd length below the pair digits.
+    long badLength = PackedCode.pack("8FVC9G8F+") & ~0xfL | 3;
+    for (long cell : new long[] {PackedCode.NO_CODE, badLength}) {
+      try {
+        GridNeighbors.neighbors(cell);
+        Assert.fail("Expected exception");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+      try {
+        GridNeighbors.ring(cell, 2);
+        Assert.fail("Expected exception");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+      try {
+        GridNeighbors.dilate(new long[] {cell}, 1);
+        Assert.fail("Expected exception");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+  }
+}
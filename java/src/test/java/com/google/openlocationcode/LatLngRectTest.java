@@ -0,0 +1,59 @@
+package com.google.openlocationcode;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the latitude and longitude rectangle region. */
+@RunWith(JUnit4.class)
+public class LatLngRectTest {
+
+  @Test
+  public void testContains() {
+    LatLngRect rect = new LatLngRect(10, 20, 30, 40);
+    Assert.assertTrue(rect.contains(20, 30));
+    Assert.assertTrue(rect.contains(10, 20));
+    Assert.assertFalse(rect.contains(20, 41));
+    Assert.assertTrue(rect.containsRectangle(15, 25, 25, 35));
+    Assert.assertFalse(rect.containsRectangle(15, 25, 35, 35));
+    Assert.assertTrue(rect.intersectsRectangle(25, 35, 35, 45));
+    // Rectangles that only touch the edges do not intersect, unless they have no area.
+    Assert.assertFalse(rect.intersectsRectangle(30, 25, 35, 35));
+    Assert.assertFalse(rect.intersectsRectangle(15, 40, 25, 45));
+    Assert.assertTrue(rect.intersectsRectangle(15, 40, 25, 40));
+  }
+
+  @Test
+  public void testAntimeridian() {
+    LatLngRect rect = new LatLngRect(-10, 170, 10, -170);
+    Assert.assertEquals(170, rect.getWestLongitude(), 0);
+    Assert.assertEquals(190, rect.getEastLongitude(), 0);
+    Assert.assertTrue(rect.contains(0, 175));
+    Assert.assertTrue(rect.contains(0, -175));
+    Assert.assertFalse(rect.contains(0, 0));
+    Assert.assertTrue(rect.intersectsRectangle(-5, -180, 5, -175));
+    Assert.assertTrue(rect.containsRectangle(-5, -180, 5, -175));
+    Assert.assertTrue(rect.containsRectangle(-5, 172, 5, 180));
+    Assert.assertFalse(rect.containsRectangle(-5, 160, 5, 180));
+    Assert.assertFalse(rect.intersectsRectangle(-5, -170, 5, -160));
+  }
+
+  @Test
+  public void testWholeWorld() {
+    LatLngRect rect = new LatLngRect(-90, -180, 90, 180);
+    Assert.assertTrue(rect.contains(45, 179.9));
+    Assert.assertTrue(rect.containsRectangle(-90, -180, 90, 180));
+    Assert.assertTrue(rect.intersectsRectangle(0, 100, 10, 120));
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      new LatLngRect(10, 0, 5, 1);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.google.openlocationcode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the primitive hash map. */
+@RunWith(JUnit4.class)
+public class LongLongHashMapTest {
+
+  @Test
+  public void testMatchesHashMap() {
+    Random random = new Random(73);
+    LongLongHashMap map = new LongLongHashMap();
+    Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < 200000; i++) {
+      // Few distinct keys, including 0, so that keys are often replaced and removed.
+      long key = random.nextInt(5000) - 100;
+      if (random.nextInt(3) == 0) {
+        Long value = expected.remove(key);
+        Assert.assertEquals(value == null ? -1 : value, map.remove(key, -1));
+      } else {
+        long value = random.nextLong();
+        expected.put(key, value);
+        map.put(key, value);
+      }
+    }
+    Assert.assertEquals(expected.size(), map.size());
+    for (long key = -100; key < 4900; key++) {
+      Long value = expected.get(key);
+      Assert.assertEquals(value != null, map.containsKey(key));
+      Assert.assertEquals(value == null ? 7 : value, map.get(key, 7));
+    }
+    Map<Long, Long> visited = new HashMap<>();
+    map.forEach(visited::put);
+    Assert.assertEquals(expected, visited);
+    map.clear();
+    Assert.assertTrue(map.isEmpty());
+    Assert.assertEquals(3, map.get(0, 3));
+  }
+}
@@ -0,0 +1,182 @@
+package com.google.openlocationcode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests streaming codes from memory mapped files. */
+@RunWith(JUnit4.class)
+public class MappedCodeFilesTest {
+
+  private static final int ROWS = 20000;
+
+  private Path coordinatesFile;
+  private Path codesFile;
+  private long[] expected;
+
+  @Before
+  public void setUp() throws IOException {
+    Random random = new Random(42);
+    StringBuilder coordinates = new StringBuilder("# latitude,longitude\n");
+    StringBuilder codes = new StringBuilder();
+    expected = new long[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+      String lat = String.format(Locale.ROOT, "%.7f", latitude);
+      String lng = String.format(Locale.ROOT, "%.7f", longitude);
+      expected[i] = CoordinateParser.encodePacked(lat, lng, 11);
+      // Mix line endings, separators and blank lines.
+      coordinates.append(lat).append(i % 3 == 0 ? "\t" : ",").append(lng);
+      coordinates.append(i % 5 == 0 ? "\r\n" : "\n");
+      if (i % 7 == 0) {
+        coordinates.append('\n');
+      }
+      codes.append(' ').append(PackedCode.toCode(expected[i]).toLowerCase()).append('\n');
+    }
+    coordinatesFile = Files.createTempFile("coordinates", ".csv");
+    Files.write(coordinatesFile, coordinates.toString().getBytes(StandardCharsets.US_ASCII));
+    // No newline after the last code.
+    codesFile = Files.createTempFile("codes", ".txt");
+    Files.write(codesFile, codes.toString().trim().getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.delete(coordinatesFile);
+    Files.delete(codesFile);
+  }
+
+  @Test
+  public void testEncodeCoordinates() throws IOException {
+    try (LongStream codes = MappedCodeFiles.encodeCoordinates(coordinatesFile, 11)) {
+      Assert.assertArrayEquals(expected, codes.toArray());
+    }
+    try (LongStream codes = MappedCodeFiles.encodeCoordinates(coordinatesFile, 11)) {
+      Assert.assertArrayEquals(expected, codes.parallel().toArray());
+    }
+  }
+
+  @Test
+  public void testPackedCodes() throws IOException {
+    try (LongStream codes = MappedCodeFiles.packedCodes(codesFile)) {
+      Assert.assertArrayEquals(expected, codes.parallel().toArray());
+    }
+  }
+
+  @Test
+  public void testSmallWindows() throws IOException {
+    // Lines regularly cross the window edges.
+    try (LongStream codes =
+        MappedCodeFiles.lines(codesFile, line -> PackedCode.tryPack(line, 0, line.length()), 37)) {
+      Assert.assertArrayEquals(expected, codes.parallel().toArray());
+    }
+  }
+
+  @Test
+  public void testSplitsAtLines() throws IOException {
+    try (LongStream codes = MappedCodeFiles.packedCodes(codesFile)) {
+      Spliterator.OfLong suffix = codes.spliterator();
+      Spliterator.OfLong prefix = suffix.trySplit();
+      Assert.assertNotNull(prefix);
+      long[] count = new long[2];
+      prefix.forEachRemaining((long code) -> count[0]++);
+      suffix.forEachRemaining((long code) -> count[1]++);
+      Assert.assertEquals(ROWS, count[0] + count[1]);
+      Assert.assertTrue(count[0] > ROWS / 3);
+      Assert.assertTrue(count[1] > ROWS / 3);
+    }
+  }
+
+  private static String readChunks(Stream<ByteBuffer> chunks, int chunkSize) {
+    StringBuilder text = new StringBuilder();
+    chunks.forEach(
+        chunk -> {
+          // Every chunk but the last ends with a newline.
+          Assert.assertTrue(text.length() == 0 || text.charAt(text.length() - 1) == '\n');
+          String value = StandardCharsets.US_ASCII.decode(chunk).toString();
+          Assert.assertFalse(value.isEmpty());
+          // Only a single line can make a chunk too large.
+          int newline = value.indexOf('\n');
+          Assert.assertTrue(
+              value, value.length() <= chunkSize || newline < 0 || newline == value.length() - 1);
+          text.append(value);
+        });
+    return text.toString();
+  }
+
+  @Test
+  public void testChunks() throws IOException {
+    String expectedText =
+        new String(Files.readAllBytes(coordinatesFile), StandardCharsets.US_ASCII);
+    for (int chunkSize : new int[] {1, 10, 100, 1 << 16, MappedCodeFiles.MAX_CHUNK_SIZE}) {
+      try (Stream<ByteBuffer> chunks = MappedCodeFiles.chunks(coordinatesFile, chunkSize)) {
+        Assert.assertEquals(expectedText, readChunks(chunks, chunkSize));
+      }
+    }
+    // Chunks regularly cross the window edges.
+    for (int chunkSize : new int[] {1, 20, 60}) {
+      try (Stream<ByteBuffer> chunks = MappedCodeFiles.chunks(codesFile, chunkSize, 97)) {
+        String text = readChunks(chunks, chunkSize);
+        Assert.assertEquals(
+            new String(Files.readAllBytes(codesFile), StandardCharsets.US_ASCII), text);
+        Assert.assertFalse(text.endsWith("\n"));
+      }
+    }
+    try (Stream<ByteBuffer> chunks = MappedCodeFiles.chunks(codesFile, 100, 10)) {
+      chunks.count();
+      Assert.fail("Expected exception");
+    } catch (UncheckedIOException e) {
+      // Expected.
+    }
+    try {
+      MappedCodeFiles.chunks(codesFile, 0);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testInvalidLines() throws IOException {
+    Path file = Files.createTempFile("invalid", ".csv");
+    try {
+      Files.write(file, "1,2\nabc,2\n3\n\n# 4,5\n".getBytes(StandardCharsets.US_ASCII));
+      try (LongStream codes = MappedCodeFiles.encodeCoordinates(file, 10)) {
+        Assert.assertArrayEquals(
+            new long[] {PackedCode.encode(1, 2, 10), PackedCode.NO_CODE, PackedCode.NO_CODE},
+            codes.toArray());
+      }
+      try (LongStream codes = MappedCodeFiles.packedCodes(file)) {
+        Assert.assertEquals(0, codes.filter(c -> c != PackedCode.NO_CODE).count());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    Path file = Files.createTempFile("empty", ".txt");
+    try (LongStream codes = MappedCodeFiles.packedCodes(file)) {
+      Assert.assertEquals(0, codes.count());
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the index of moving entities. */
+@RunWith(JUnit4.class)
+public class MovingObjectIndexTest {
+
+  private static long[] sorted(long[] values) {
+    Arrays.sort(values);
+    return values;
+  }
+
+  private static long[] expectedIn(Map<Long, Long> cells, LongPredicate test) {
+    return cells.entrySet().stream()
+        .filter(e -> test.test(e.getValue()))
+        .mapToLong(Map.Entry::getKey)
+        .sorted()
+        .toArray();
+  }
+
+  @Test
+  public void testMatchesModel() {
+    Random random = new Random(83);
+    MovingObjectIndex index = new MovingObjectIndex(8, 4);
+    Map<Long, Long> cells = new HashMap<>();
+    for (int i = 0; i < 50000; i++) {
+      long entity = random.nextInt(2000);
+      if (random.nextInt(10) == 0) {
+        Assert.assertEquals(cells.remove(entity) != null, index.remove(entity));
+      } else {
+        double lat = 47 + random.nextDouble() * 0.2;
+        double lng = 8 + random.nextDouble() * 0.2;
+        long cell = PackedCode.encode(lat, lng, 8);
+        Long previous = cells.put(entity, cell);
+        Assert.assertEquals(previous == null || previous != cell, index.update(entity, lat, lng));
+      }
+    }
+    Assert.assertEquals(cells.size(), index.size());
+    for (long entity = 0; entity < 2000; entity++) {
+      Long cell = cells.get(entity);
+      Assert.assertEquals(cell == null ? PackedCode.NO_CODE : cell, index.getCell(entity));
+    }
+    Map<Long, Long> visited = new HashMap<>();
+    index.forEach(visited::put);
+    Assert.assertEquals(cells, visited);
+
+    // Cells and prefixes, some with few descendants and some with many.
+    for (long cell :
+        new long[] {PackedCode.encode(47.1, 8.1, 8), PackedCode.encode(47.1, 8.1, 6)}) {
+      Assert.assertArrayEquals(
+          expectedIn(cells, c -> PackedCode.contains(cell, c)), sorted(index.inCell(cell)));
+    }
+    long prefix = PackedCode.encode(47.1, 8.1, 4);
+    Assert.assertEquals(cells.size(), index.inCell(prefix).length);
+
+    double south = 47.05;
+    double west = 8.02;
+    double north = 47.13;
+    double east = 8.11;
+    BoundingBoxCells box = new BoundingBoxCells(south, west, north, east, 8);
+    Assert.assertArrayEquals(
+        expectedIn(cells, box::containsCell),
+        sorted(index.inBoundingBox(south, west, north, east)));
+    // A small box, looked up cell by cell.
+    box = new BoundingBoxCells(47.1, 8.1, 47.1005, 8.1005, 8);
+    Assert.assertArrayEquals(
+        expectedIn(cells, box::containsCell),
+        sorted(index.inBoundingBox(47.1, 8.1, 47.1005, 8.1005)));
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws InterruptedException {
+    MovingObjectIndex index = new MovingObjectIndex(10);
+    int threadCount = 8;
+    int entitiesPerThread = 500;
+    Thread[] threads = new Thread[threadCount];
+    double[][] lastLats = new double[threadCount][entitiesPerThread];
+    double[][] lastLngs = new double[threadCount][entitiesPerThread];
+    for (int t = 0; t < threadCount; t++) {
+      int thread = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                Random random = new Random(thread);
+                for (int i = 0; i < 100000; i++) {
+                  int e = random.nextInt(entitiesPerThread);
+                  double lat = 47 + random.nextDouble() * 0.01;
+                  double lng = 8 + random.nextDouble() * 0.01;
+                  index.update((long) thread * entitiesPerThread + e, lat, lng);
+                  lastLats[thread][e] = lat;
+                  lastLngs[thread][e] = lng;
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(threadCount * entitiesPerThread, index.size());
+    Assert.assertEquals(
+        threadCount * entitiesPerThread, index.inCell(PackedCode.encode(47, 8, 6)).length);
+    for (int t = 0; t < threadCount; t++) {
+      for (int e = 0; e < entitiesPerThread; e++) {
+        Assert.assertEquals(
+            PackedCode.encode(lastLats[t][e], lastLngs[t][e], 10),
+            index.getCell((long) t * entitiesPerThread + e));
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    MovingObjectIndex index = new MovingObjectIndex(8);
+    try {
+      index.update(1, PackedCode.encode(47, 8, 10));
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      index.inCell(PackedCode.encode(47, 8, 10));
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    Assert.assertTrue(index.update(1, PackedCode.encode(47, 8, 8)));
+    Assert.assertFalse(index.update(1, PackedCode.encode(47, 8, 8)));
+    Assert.assertEquals(PackedCode.NO_CODE, index.getCell(2));
+  }
+}
@@ -0,0 +1,98 @@
+package com.google.openlocationcode;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests finding the indexed codes nearest to points. */
+@RunWith(JUnit4.class)
+public class NearestCodeIndexTest {
+
+  private static double distance(double lat, double lng, long cell) {
+    OpenLocationCode.CodeArea area = PackedCode.decode(cell);
+    return Circle.distanceMeters(lat, lng, area.getCenterLatitude(), area.getCenterLongitude());
+  }
+
+  private static void assertNearest(
+      long[] cells, NearestCodeIndex index, double lat, double lng, int k) {
+    double[] expected =
+        Arrays.stream(cells).mapToDouble(cell -> distance(lat, lng, cell)).sorted().toArray();
+    long[] found = index.nearest(lat, lng, k);
+    String message = lat + "," + lng + " k=" + k;
+    Assert.assertEquals(message, Math.min(k, cells.length), found.length);
+    // Compare distances, since codes at the same distance can come in either order.
+    for (int i = 0; i < found.length; i++) {
+      Assert.assertEquals(message, expected[i], distance(lat, lng, found[i]), 1e-6);
+    }
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(61);
+    int[] lengths = {8, 10, 11};
+    long[] cells = new long[3000];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] =
+          PackedCode.encode(
+              47 + random.nextDouble(),
+              8 + random.nextDouble(),
+              lengths[random.nextInt(lengths.length)]);
+    }
+    NearestCodeIndex index = NearestCodeIndex.of(cells);
+    Assert.assertEquals(cells.length, index.size());
+    for (int i = 0; i < 300; i++) {
+      double lat = 46.8 + random.nextDouble() * 1.4;
+      double lng = 7.8 + random.nextDouble() * 1.4;
+      assertNearest(cells, index, lat, lng, 1 + random.nextInt(20));
+    }
+    // Far from all the codes, the search goes through many rings.
+    assertNearest(cells, index, 40, 2, 3);
+  }
+
+  @Test
+  public void testAntimeridianAndPoles() {
+    Random random = new Random(67);
+    long[] cells = new long[500];
+    for (int i = 0; i < cells.length; i++) {
+      double lat =
+          random.nextBoolean() ? 88 + random.nextDouble() * 2 : -5 + random.nextDouble() * 10;
+      double lng = random.nextBoolean() ? 179 + random.nextDouble() : -180 + random.nextDouble();
+      cells[i] = PackedCode.encode(lat, lng, 8);
+    }
+    NearestCodeIndex index = NearestCodeIndex.of(cells, 4);
+    assertNearest(cells, index, 0, 179.99, 10);
+    assertNearest(cells, index, 0, -179.99, 10);
+    assertNearest(cells, index, 89.9, 0, 10);
+    assertNearest(cells, index, 89.9, 179.5, 5);
+    assertNearest(cells, index, 3, 170, 7);
+  }
+
+  @Test
+  public void testSmallIndexes() {
+    NearestCodeIndex index =
+        NearestCodeIndex.fromCodes(Arrays.asList("8FVC9G8F+6X", "8FVC9G8F+6X", "9C3W9QCJ+2V"));
+    Assert.assertEquals(3, index.size());
+    long[] found = index.nearest(51.5, -0.1, 5);
+    Assert.assertArrayEquals(
+        new long[] {
+          PackedCode.pack("9C3W9QCJ+2V"),
+          PackedCode.pack("8FVC9G8F+6X"),
+          PackedCode.pack("8FVC9G8F+6X")
+        },
+        found);
+    Assert.assertArrayEquals(
+        new long[] {PackedCode.pack("9C3W9QCJ+2V")}, index.nearest(51.5, -0.1, 1));
+    Assert.assertEquals(0, index.nearest(51.5, -0.1, 0).length);
+    Assert.assertEquals(0, NearestCodeIndex.of().nearest(0, 0, 3).length);
+    try {
+      index.nearest(0, 0, -1);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
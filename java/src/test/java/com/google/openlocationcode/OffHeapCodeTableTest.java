@@ -0,0 +1,96 @@
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the off-heap code table. */
+@RunWith(JUnit4.class)
+public class OffHeapCodeTableTest {
+
+  @Test
+  public void testAddAndGet() {
+    // Use a small chunk size to exercise several chunks.
+    OffHeapCodeTable table = new OffHeapCodeTable(7);
+    double[] latitudes = new double[100];
+    double[] longitudes = new double[100];
+    for (int i = 0; i < latitudes.length; i++) {
+      latitudes[i] = -89 + i * 1.7;
+      longitudes[i] = -179 + i * 3.5;
+    }
+    table.addAll(latitudes, longitudes, 10);
+    Assert.assertEquals(100, table.size());
+    for (int i = 0; i < latitudes.length; i++) {
+      String code = OpenLocationCode.encode(latitudes[i], longitudes[i], 10);
+      Assert.assertEquals(code, PackedCode.toCode(table.getCode(i)));
+      CodeArea want = OpenLocationCode.decode(code);
+      CodeArea got = table.getArea(i);
+      Assert.assertEquals(want.getSouthLatitude(), got.getSouthLatitude(), 0);
+      Assert.assertEquals(want.getEastLongitude(), got.getEastLongitude(), 0);
+    }
+    try {
+      table.getCode(100);
+      Assert.fail("Expected exception");
+    } catch (IndexOutOfBoundsException e) {
+      // Expected.
+    }
+    table.clear();
+    Assert.assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testInvalidCodes() {
+    OffHeapCodeTable table = new OffHeapCodeTable(7);
+    long badLength = PackedCode.pack("8FVC9G8F+") & ~0xfL | 3;
+    for (long packedCode : new long[] {PackedCode.NO_CODE, badLength}) {
+      try {
+        table.add(packedCode);
+        Assert.fail("Expected exception");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+    Assert.assertEquals(0, table.size());
+    Assert.assertEquals(0, table.add(PackedCode.pack("8FVC9G8F+")));
+  }
+
+  @Test
+  public void testScan() {
+    OffHeapCodeTable table = new OffHeapCodeTable(1000);
+    Random random = new Random(7);
+    double[] coordinates = new double[20000];
+    for (int i = 0; i < coordinates.length; i += 2) {
+      coordinates[i] = random.nextDouble() * 180 - 90;
+      coordinates[i + 1] = random.nextDouble() * 360 - 180;
+    }
+    table.addAll(coordinates, 8);
+
+    double[][] boxes = {{10, 20, 30, 60}, {-50, 170, -10, -160}, {-90, -180, 90, 180}};
+    for (double[] box : boxes) {
+      List<Long> want = new ArrayList<>();
+      for (long row = 0; row < table.size(); row++) {
+        CodeArea area = table.getArea(row);
+        boolean latitudeMatch =
+            area.getSouthLatitude() <= box[2] && area.getNorthLatitude() > box[0];
+        boolean afterWest = area.getEastLongitude() > box[1];
+        boolean beforeEast = area.getWestLongitude() <= box[3];
+        if (latitudeMatch
+            && (box[1] > box[3] ? afterWest || beforeEast : afterWest && beforeEast)) {
+          want.add(row);
+        }
+      }
+      List<Long> got = new ArrayList<>();
+      long count = table.scan(box[0], box[1], box[2], box[3], got::add);
+      Assert.assertEquals(want, got);
+      Assert.assertEquals(want.size(), count);
+      Assert.assertFalse(got.isEmpty());
+    }
+  }
+}
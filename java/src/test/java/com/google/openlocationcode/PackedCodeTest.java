@@ -0,0 +1,268 @@
+package com.google.openlocationcode;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests conversion between codes and packed codes. */
+@RunWith(JUnit4.class)
+public class PackedCodeTest {
+
+  private static List<String[]> readTestData(String file) throws Exception {
+    List<String[]> rows = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(new FileInputStream(TestUtils.getTestFile(file)), UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("#") || line.length() == 0) {
+          continue;
+        }
+        rows.add(line.split(",", -1));
+      }
+    }
+    return rows;
+  }
+
+  @Test
+  public void testEncodeFromIntegers() throws Exception {
+    for (String[] row : readTestData("encoding.csv")) {
+      int length = Integer.parseInt(row[4]);
+      if (length > PackedCode.MAX_DIGIT_COUNT) {
+        continue;
+      }
+      long packed =
+          PackedCode.encodeIntegers(Long.parseLong(row[2]), Long.parseLong(row[3]), length);
+      Assert.assertEquals(
+          "Wrong code for " + Arrays.toString(row), row[5], PackedCode.toCode(packed));
+      Assert.assertEquals(length, PackedCode.length(packed));
+    }
+  }
+
+  @Test
+  public void testDecode() throws Exception {
+    for (String[] row : readTestData("decoding.csv")) {
+      if (Integer.parseInt(row[1]) > PackedCode.MAX_DIGIT_COUNT) {
+        continue;
+      }
+      CodeArea want = OpenLocationCode.decode(row[0]);
+      CodeArea got = PackedCode.decode(PackedCode.pack(row[0]));
+      Assert.assertEquals(row[0], want.getLength(), got.getLength());
+      Assert.assertEquals(row[0], want.getSouthLatitude(), got.getSouthLatitude(), 0);
+      Assert.assertEquals(row[0], want.getWestLongitude(), got.getWestLongitude(), 0);
+      Assert.assertEquals(row[0], want.getNorthLatitude(), got.getNorthLatitude(), 0);
+      Assert.assertEquals(row[0], want.getEastLongitude(), got.getEastLongitude(), 0);
+    }
+  }
+
+  @Test
+  public void testValidity() throws Exception {
+    for (String[] row : readTestData("validityTests.csv")) {
+      boolean isFull = Boolean.parseBoolean(row[3]);
+      Assert.assertEquals(
+          "Wrong validity for " + row[0],
+          isFull,
+          PackedCode.tryPack(row[0], 0, row[0].length()) != PackedCode.NO_CODE);
+    }
+  }
+
+  @Test
+  public void testLongCodesAreTruncated() {
+    long packed = PackedCode.pack("7FG49QCJ+2VXGJHX");
+    Assert.assertEquals(PackedCode.MAX_DIGIT_COUNT, PackedCode.length(packed));
+    Assert.assertEquals("7FG49QCJ+2VXGJ", PackedCode.toCode(packed));
+    Assert.assertEquals(packed, PackedCode.encode(20.3701135, 2.78223535156, 15));
+  }
+
+  @Test
+  public void testSortOrderMatchesCodes() {
+    Random random = new Random(42);
+    int[] lengths = {2, 4, 6, 8, 10, 11, 12, 13};
+    String[] codes = new String[10000];
+    long[] packed = new long[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      // Use a small area so that codes share prefixes.
+      double latitude = 47 + random.nextDouble() * 0.1;
+      double longitude = 8 + random.nextDouble() * 0.1;
+      codes[i] = OpenLocationCode.encode(latitude, longitude, lengths[i % lengths.length]);
+      packed[i] = PackedCode.pack(codes[i]);
+      Assert.assertEquals(codes[i], PackedCode.toCode(packed[i]));
+      Assert.assertEquals(
+          packed[i], PackedCode.encode(latitude, longitude, lengths[i % lengths.length]));
+    }
+    Arrays.sort(codes);
+    Arrays.sort(packed);
+    for (int i = 0; i < codes.length; i++) {
+      Assert.assertEquals(codes[i], PackedCode.toCode(packed[i]));
+    }
+  }
+
+  @Test
+  public void testParent() {
+    long packed = PackedCode.pack("8FVC9G8F+6XQR");
+    Assert.assertEquals("8FVC9G8F+6XQ", PackedCode.toCode(PackedCode.parent(packed, 11)));
+    Assert.assertEquals("8FVC9G8F+6X", PackedCode.toCode(PackedCode.parent(packed, 10)));
+    Assert.assertEquals("8FVC9G00+", PackedCode.toCode(PackedCode.parent(packed, 6)));
+    Assert.assertEquals("8F000000+", PackedCode.toCode(PackedCode.parent(packed, 2)));
+    Assert.assertEquals(packed, PackedCode.parent(packed, 12));
+    for (int length : new int[] {1, 3, 13}) {
+      try {
+        PackedCode.parent(packed, length);
+        Assert.fail("Expected exception for length " + length);
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+  }
+
+  @Test
+  public void testChildren() {
+    for (String code : new String[] {"8F000000+", "8FVC9G8F+", "8FVC9G8F+6X"}) {
+      long packed = PackedCode.pack(code);
+      List<String> children = new ArrayList<>();
+      PackedCode.forEachChild(
+          packed,
+          child -> {
+            Assert.assertEquals(packed, PackedCode.parent(child, PackedCode.length(packed)));
+            children.add(PackedCode.toCode(child));
+          });
+      Assert.assertEquals(code.length() < 10 ? 400 : 20, children.size());
+      // The children are distinct and in code order.
+      for (int i = 1; i < children.size(); i++) {
+        Assert.assertTrue(children.get(i - 1).compareTo(children.get(i)) < 0);
+      }
+    }
+    try {
+      PackedCode.forEachChild(PackedCode.pack("8FVC9G8F+6XQQR"), child -> {});
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testAncestors() {
+    List<String> ancestors = new ArrayList<>();
+    PackedCode.forEachAncestor(
+        PackedCode.pack("8FVC9G8F+6XQR"), ancestor -> ancestors.add(PackedCode.toCode(ancestor)));
+    Assert.assertEquals(
+        Arrays.asList(
+            "8F000000+", "8FVC0000+", "8FVC9G00+", "8FVC9G8F+", "8FVC9G8F+6X", "8FVC9G8F+6XQ"),
+        ancestors);
+  }
+
+  @Test
+  public void testCommonAncestorLength() {
+    String[][] tests = {
+      {"8FVC9G8F+6XQR", "8FVC9G8F+6XQR", "12"},
+      {"8FVC9G8F+6XQR", "8FVC9G8F+6XQ", "11"},
+      {"8FVC9G8F+6XQR", "8FVC9G8F+6XR", "10"},
+      {"8FVC9G8F+6XQR", "8FVC9G8F+6W", "8"},
+      {"8FVC9G8F+6XQR", "8FVC9G8G+", "6"},
+      {"8FVC9G8F+6XQR", "8FVC0000+", "4"},
+      {"8FVC9G8F+6XQR", "8FWC0000+", "2"},
+      {"8FVC9G8F+6XQR", "9FVC9G8F+6XQR", "0"},
+      {"8FVC9G8F+6XQR", "8GVC9G8F+6XQR", "0"},
+    };
+    for (String[] test : tests) {
+      long packed1 = PackedCode.pack(test[0]);
+      long packed2 = PackedCode.pack(test[1]);
+      Assert.assertEquals(
+          test[0] + " " + test[1],
+          Integer.parseInt(test[2]),
+          PackedCode.commonAncestorLength(packed1, packed2));
+      Assert.assertEquals(
+          Integer.parseInt(test[2]), PackedCode.commonAncestorLength(packed2, packed1));
+    }
+  }
+
+  @Test
+  public void testOrdinals() {
+    Assert.assertEquals(162, PackedCode.ordinalCount(2));
+    Assert.assertEquals(162L * 400 * 400 * 400, PackedCode.ordinalCount(8));
+    Assert.assertEquals(162L * 400 * 400 * 400 * 400 * 20, PackedCode.ordinalCount(11));
+    Assert.assertEquals(0, PackedCode.toOrdinal(PackedCode.pack("22000000+"), 2));
+    Assert.assertEquals(161, PackedCode.toOrdinal(PackedCode.pack("CV000000+"), 2));
+    Assert.assertEquals(
+        PackedCode.ordinalCount(4) - 1, PackedCode.toOrdinal(PackedCode.pack("CVXX0000+"), 4));
+    Random random = new Random(43);
+    int[] lengths = {2, 4, 6, 8, 10, 11, 12, 13};
+    for (int i = 0; i < 1000; i++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+      int length = lengths[random.nextInt(lengths.length)];
+      long packed = PackedCode.encode(latitude, longitude, length);
+      long ordinal = PackedCode.toOrdinal(packed, length);
+      Assert.assertEquals(packed, PackedCode.fromOrdinal(ordinal, length));
+      // A longer code has the ordinal of the cell containing it.
+      Assert.assertEquals(
+          ordinal, PackedCode.toOrdinal(PackedCode.encode(latitude, longitude, 13), length));
+      // Ordinals are in code order.
+      long other = PackedCode.encode(random.nextDouble() * 180 - 90, longitude, length);
+      Assert.assertEquals(
+          Long.signum(Long.compare(packed, other)),
+          Long.signum(Long.compare(ordinal, PackedCode.toOrdinal(other, length))));
+    }
+    try {
+      PackedCode.fromOrdinal(PackedCode.ordinalCount(6), 6);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      PackedCode.toOrdinal(PackedCode.pack("8FVC0000+"), 6);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testReencode() {
+    Random random = new Random(89);
+    int[] lengths = {2, 4, 6, 8, 10, 11, 12, 13};
+    for (int i = 0; i < 100000; i++) {
+      int length = lengths[random.nextInt(lengths.length)];
+      double lat = random.nextDouble() * 180 - 90;
+      double lng = random.nextDouble() * 360 - 180;
+      long previous = PackedCode.encode(lat, lng, length);
+      // Moves of a few meters, and some far enough to change many digits.
+      double step = random.nextBoolean() ? 0.0001 : Math.pow(10, -random.nextInt(6));
+      double newLat = lat + (random.nextDouble() - 0.5) * step;
+      double newLng = lng + (random.nextDouble() - 0.5) * step;
+      Assert.assertEquals(
+          PackedCode.encode(newLat, newLng, length), PackedCode.reencode(previous, newLat, newLng));
+    }
+    // Across the antimeridian and to the poles.
+    long previous = PackedCode.encode(0, 179.99999, 11);
+    Assert.assertEquals(
+        PackedCode.encode(0, -179.99999, 11), PackedCode.reencode(previous, 0, -179.99999));
+    Assert.assertEquals(PackedCode.encode(90, 0, 11), PackedCode.reencode(previous, 90, 0));
+    Assert.assertEquals(previous, PackedCode.reencode(previous, 0, 179.99999));
+  }
+
+  @Test
+  public void testInvalidLength() {
+    for (int length : new int[] {-1, 0, 1, 3, 9}) {
+      try {
+        PackedCode.encode(47, 8, length);
+        Assert.fail("Expected exception for length " + length);
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+  }
+}
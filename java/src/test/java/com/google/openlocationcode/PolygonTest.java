@@ -0,0 +1,89 @@
+package com.google.openlocationcode;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the polygon region. */
+@RunWith(JUnit4.class)
+public class PolygonTest {
+
+  // An L shaped polygon: the square from 0,0 to 2,2 without the square from 1,1 to 2,2.
+  private static final Polygon L_SHAPE =
+      new Polygon(new double[] {0, 0, 1, 1, 2, 2}, new double[] {0, 2, 2, 1, 1, 0});
+
+  /** Tests a point against all edges, without the band index. */
+  private static boolean naiveContains(double[] lats, double[] lngs, double lat, double lng) {
+    boolean inside = false;
+    for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+      if (lats[i] > lat != lats[j] > lat
+          && lngs[i] + (lat - lats[i]) / (lats[j] - lats[i]) * (lngs[j] - lngs[i]) > lng) {
+        inside = !inside;
+      }
+    }
+    return inside;
+  }
+
+  @Test
+  public void testContains() {
+    Assert.assertTrue(L_SHAPE.contains(0.5, 0.5));
+    Assert.assertTrue(L_SHAPE.contains(0.5, 1.5));
+    Assert.assertTrue(L_SHAPE.contains(1.5, 0.5));
+    Assert.assertFalse(L_SHAPE.contains(1.5, 1.5));
+    Assert.assertFalse(L_SHAPE.contains(-0.5, 0.5));
+    Assert.assertFalse(L_SHAPE.contains(0.5, 2.5));
+  }
+
+  @Test
+  public void testRectangles() {
+    Assert.assertTrue(L_SHAPE.containsRectangle(0.1, 0.1, 0.9, 1.9));
+    Assert.assertFalse(L_SHAPE.containsRectangle(0.1, 0.1, 1.5, 1.5));
+    Assert.assertTrue(L_SHAPE.intersectsRectangle(0.9, 0.9, 1.5, 1.5));
+    Assert.assertFalse(L_SHAPE.intersectsRectangle(1.1, 1.1, 1.9, 1.9));
+    // Rectangles containing the polygon, and entirely inside it.
+    Assert.assertTrue(L_SHAPE.intersectsRectangle(-1, -1, 3, 3));
+    Assert.assertTrue(L_SHAPE.intersectsRectangle(0.2, 0.2, 0.3, 0.3));
+    Assert.assertFalse(L_SHAPE.intersectsRectangle(3, 3, 4, 4));
+  }
+
+  @Test
+  public void testManyVertices() {
+    // A star shaped polygon with thousands of vertices.
+    Random random = new Random(3);
+    int n = 5000;
+    double[] lats = new double[n];
+    double[] lngs = new double[n];
+    for (int i = 0; i < n; i++) {
+      double angle = 2 * Math.PI * i / n;
+      double radius = 1 + random.nextDouble();
+      lats[i] = 40 + radius * Math.sin(angle);
+      lngs[i] = -100 + radius * Math.cos(angle);
+    }
+    Polygon polygon = new Polygon(lats, lngs);
+    Assert.assertEquals(n, polygon.size());
+    for (int i = 0; i < 10000; i++) {
+      double lat = 37.5 + random.nextDouble() * 5;
+      double lng = -102.5 + random.nextDouble() * 5;
+      Assert.assertEquals(naiveContains(lats, lngs, lat, lng), polygon.contains(lat, lng));
+    }
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      new Polygon(new double[] {0, 1}, new double[] {0, 1});
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      new Polygon(new double[] {0, 1, 91}, new double[] {0, 1, 0});
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
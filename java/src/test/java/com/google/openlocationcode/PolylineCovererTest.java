@@ -0,0 +1,110 @@
+package com.google.openlocationcode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests finding the cells crossed by polylines. */
+@RunWith(JUnit4.class)
+public class PolylineCovererTest {
+
+  private static List<String> codes(long[] cells) {
+    List<String> codes = new ArrayList<>();
+    for (long cell : cells) {
+      codes.add(PackedCode.toCode(cell));
+    }
+    return codes;
+  }
+
+  /** Returns whether two cells share an edge or corner. */
+  private static boolean adjacent(long a, long b) {
+    long columns = PackedCode.longitudeCells(PackedCode.length(a));
+    long rows = Math.abs(PackedCode.latitudeIndex(a) - PackedCode.latitudeIndex(b));
+    long cols = Math.floorMod(PackedCode.longitudeIndex(a) - PackedCode.longitudeIndex(b), columns);
+    return rows <= 1 && (cols <= 1 || cols == columns - 1) && rows + cols > 0;
+  }
+
+  @Test
+  public void testContainsSampledCells() {
+    Random random = new Random(11);
+    for (int trace = 0; trace < 20; trace++) {
+      int n = 2 + random.nextInt(5);
+      double[] lats = new double[n];
+      double[] lngs = new double[n];
+      lats[0] = random.nextDouble() * 160 - 80;
+      lngs[0] = random.nextDouble() * 360 - 180;
+      for (int i = 1; i < n; i++) {
+        lats[i] = Math.max(-89, Math.min(89, lats[i - 1] + random.nextGaussian() * 0.01));
+        lngs[i] = lngs[i - 1] + random.nextGaussian() * 0.01;
+      }
+      long[] cells = PolylineCoverer.cover(lats, lngs, 10);
+      Assert.assertEquals(PackedCode.encode(lats[0], lngs[0], 10), cells[0]);
+      Assert.assertEquals(PackedCode.encode(lats[n - 1], lngs[n - 1], 10), cells[cells.length - 1]);
+      for (int i = 1; i < cells.length; i++) {
+        Assert.assertTrue(adjacent(cells[i - 1], cells[i]));
+      }
+      // Points sampled along the segments are in the cells, in order.
+      int next = 0;
+      for (int i = 1; i < n; i++) {
+        for (int s = 0; s <= 1000; s++) {
+          double f = s / 1000.0;
+          long cell =
+              PackedCode.encode(
+                  lats[i - 1] + f * (lats[i] - lats[i - 1]),
+                  lngs[i - 1] + f * (lngs[i] - lngs[i - 1]),
+                  10);
+          while (next < cells.length && cells[next] != cell) {
+            next++;
+          }
+          Assert.assertTrue("Sampled cell missing from trace " + trace, next < cells.length);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testStraightLines() {
+    // Along a row and a column of 1 degree cells.
+    Assert.assertEquals(
+        5, PolylineCoverer.cover(new double[] {10.5, 10.5}, new double[] {20.5, 24.5}, 4).length);
+    Assert.assertEquals(
+        codes(
+            new long[] {
+              PackedCode.encode(13.5, 20.5, 4),
+              PackedCode.encode(12.5, 20.5, 4),
+              PackedCode.encode(11.5, 20.5, 4)
+            }),
+        codes(PolylineCoverer.cover(new double[] {13.5, 11.5}, new double[] {20.5, 20.5}, 4)));
+  }
+
+  @Test
+  public void testAntimeridian() {
+    long[] cells = PolylineCoverer.cover(new double[] {0.5, 0.5}, new double[] {178.5, -178.5}, 4);
+    Assert.assertEquals(
+        codes(
+            new long[] {
+              PackedCode.encode(0.5, 178.5, 4),
+              PackedCode.encode(0.5, 179.5, 4),
+              PackedCode.encode(0.5, -179.5, 4),
+              PackedCode.encode(0.5, -178.5, 4)
+            }),
+        codes(cells));
+  }
+
+  @Test
+  public void testSinglePointAndRepeats() {
+    Assert.assertEquals(1, PolylineCoverer.cover(new double[] {1}, new double[] {2}, 10).length);
+    Assert.assertEquals(0, PolylineCoverer.cover(new double[0], new double[0], 10).length);
+    // Consecutive vertices in one cell give the cell once, returning to a cell repeats it.
+    long[] cells =
+        PolylineCoverer.cover(
+            new double[] {0.5, 0.6, 1.5, 0.5}, new double[] {0.5, 0.6, 0.5, 0.5}, 4);
+    Assert.assertEquals(3, cells.length);
+    Assert.assertEquals(cells[0], cells[2]);
+  }
+}
@@ -0,0 +1,126 @@
+package com.google.openlocationcode;
+
+import java.util.List;
+import java.util.Random;
+
+import com.google.openlocationcode.RangeQueryPlanner.KeyRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests planning bounding box queries as key ranges. */
+@RunWith(JUnit4.class)
+public class RangeQueryPlannerTest {
+
+  private static boolean inRanges(List<KeyRange> ranges, String key) {
+    for (KeyRange range : ranges) {
+      if (range.contains(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void assertSorted(List<KeyRange> ranges) {
+    for (int i = 1; i < ranges.size(); i++) {
+      Assert.assertTrue(ranges.get(i - 1).getEnd().compareTo(ranges.get(i).getStart()) < 0);
+    }
+  }
+
+  @Test
+  public void testSuccessor() {
+    Assert.assertEquals("8FVF", RangeQueryPlanner.successor("8FVC"));
+    Assert.assertEquals("8FW2", RangeQueryPlanner.successor("8FVX"));
+    Assert.assertEquals("8FVC9G8G+2", RangeQueryPlanner.successor("8FVC9G8F+X"));
+    Assert.assertNull(RangeQueryPlanner.successor("XX"));
+  }
+
+  @Test
+  public void testMergesAdjacentCells() {
+    List<KeyRange> ranges =
+        RangeQueryPlanner.ranges(
+            new long[] {
+              PackedCode.pack("8FVC0000+"), PackedCode.pack("8FVF0000+"),
+            });
+    Assert.assertEquals(1, ranges.size());
+    Assert.assertEquals("[8FVC, 8FVG)", ranges.get(0).toString());
+    // Cells of different lengths.
+    ranges =
+        RangeQueryPlanner.ranges(
+            new long[] {
+              PackedCode.pack("8FVX0000+"),
+              PackedCode.pack("8FW22200+"),
+              PackedCode.pack("8FW22400+"),
+            });
+    Assert.assertEquals(2, ranges.size());
+    Assert.assertEquals("[8FVX, 8FW223)", ranges.get(0).toString());
+    Assert.assertEquals("[8FW224, 8FW225)", ranges.get(1).toString());
+  }
+
+  @Test
+  public void testRangesCoverBox() {
+    RangeQueryPlanner planner = new RangeQueryPlanner(8, 10);
+    List<KeyRange> ranges = planner.plan(47.36, 8.51, 47.38, 8.55);
+    Assert.assertTrue(ranges.size() <= 8);
+    assertSorted(ranges);
+    Random random = new Random(17);
+    for (int i = 0; i < 2000; i++) {
+      double lat = 47.36 + random.nextDouble() * 0.02;
+      double lng = 8.51 + random.nextDouble() * 0.04;
+      Assert.assertTrue(inRanges(ranges, OpenLocationCode.encode(lat, lng, 11)));
+    }
+    // Far away points are not in the ranges.
+    Assert.assertFalse(inRanges(ranges, OpenLocationCode.encode(47.5, 8.53, 11)));
+    Assert.assertFalse(inRanges(ranges, OpenLocationCode.encode(-33.9, 151.2, 11)));
+  }
+
+  @Test
+  public void testMoreRangesAreMorePrecise() {
+    Random random = new Random(23);
+    int[] falsePositives = new int[2];
+    int[] maxRanges = {2, 32};
+    for (int p = 0; p < 2; p++) {
+      RangeQueryPlanner planner = new RangeQueryPlanner(maxRanges[p], 11);
+      List<KeyRange> ranges = planner.plan(-12.05, -77.06, -12.03, -77.02);
+      Assert.assertTrue(ranges.size() <= maxRanges[p]);
+      for (int i = 0; i < 2000; i++) {
+        double lat = -12.1 + random.nextDouble() * 0.1;
+        double lng = -77.1 + random.nextDouble() * 0.1;
+        boolean inBox = lat >= -12.05 && lat <= -12.03 && lng >= -77.06 && lng <= -77.02;
+        if (!inBox && inRanges(ranges, OpenLocationCode.encode(lat, lng, 11))) {
+          falsePositives[p]++;
+        }
+      }
+    }
+    Assert.assertTrue(falsePositives[1] < falsePositives[0]);
+  }
+
+  @Test
+  public void testAntimeridian() {
+    RangeQueryPlanner planner = new RangeQueryPlanner(16, 8);
+    List<KeyRange> ranges = planner.plan(-18.2, 179.8, -17.9, -179.8);
+    Assert.assertTrue(ranges.size() <= 16);
+    assertSorted(ranges);
+    Assert.assertTrue(inRanges(ranges, OpenLocationCode.encode(-18.0, 179.9, 10)));
+    Assert.assertTrue(inRanges(ranges, OpenLocationCode.encode(-18.0, -179.9, 10)));
+    Assert.assertFalse(inRanges(ranges, OpenLocationCode.encode(-18.0, 0, 10)));
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      new RangeQueryPlanner(0, 10);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      new RangeQueryPlanner(8, 10).plan(10, 0, 5, 1);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
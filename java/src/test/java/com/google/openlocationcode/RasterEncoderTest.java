@@ -0,0 +1,86 @@
+package com.google.openlocationcode;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests encoding regular grids of points. */
+@RunWith(JUnit4.class)
+public class RasterEncoderTest {
+
+  private static void assertMatchesEncode(
+      double lat, double lng, double latStep, double lngStep, int rows, int columns, int length) {
+    RasterEncoder encoder = new RasterEncoder(lat, lng, latStep, lngStep, rows, columns, length);
+    long[] codes = encoder.encode();
+    Assert.assertEquals(rows * columns, codes.length);
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j < columns; j++) {
+        Assert.assertEquals(
+            "Sample " + i + ", " + j,
+            PackedCode.encode(lat + i * latStep, lng + j * lngStep, length),
+            codes[i * columns + j]);
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesEncode() {
+    Random random = new Random(97);
+    int[] lengths = {2, 4, 6, 8, 10, 11, 12, 13};
+    for (int i = 0; i < 200; i++) {
+      int length = lengths[random.nextInt(lengths.length)];
+      double step = Math.pow(10, -random.nextInt(7)) * random.nextDouble();
+      assertMatchesEncode(
+          random.nextDouble() * 170 - 85,
+          random.nextDouble() * 360 - 180,
+          random.nextBoolean() ? step : -step,
+          random.nextBoolean() ? step : -step,
+          1 + random.nextInt(20),
+          1 + random.nextInt(300),
+          length);
+    }
+  }
+
+  @Test
+  public void testAntimeridianAndPoles() {
+    assertMatchesEncode(0, 179.9, 0.01, 0.01, 3, 30, 8);
+    assertMatchesEncode(0, -179.9, 0.01, -0.01, 3, 30, 8);
+    assertMatchesEncode(89.95, 10, 0.01, 1, 10, 400, 10);
+    assertMatchesEncode(-89.95, 10, -0.01, 1, 10, 20, 4);
+  }
+
+  @Test
+  public void testRows() {
+    RasterEncoder encoder = new RasterEncoder(47.5, 8.5, -0.001, 0.001, 4, 5, 10);
+    long[] all = encoder.encode();
+    int[] visited = new int[1];
+    encoder.forEachRow(
+        (row, codes) -> {
+          Assert.assertEquals(visited[0]++, row);
+          for (int j = 0; j < codes.length; j++) {
+            Assert.assertEquals(all[row * 5 + j], codes[j]);
+          }
+        });
+    Assert.assertEquals(4, visited[0]);
+    long[] buffer = new long[7];
+    encoder.encodeRow(2, buffer, 2);
+    Assert.assertEquals(all[10], buffer[2]);
+    Assert.assertEquals(0, buffer[1]);
+    try {
+      encoder.encodeRow(4, buffer, 0);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+    try {
+      encoder.encodeRow(0, buffer, 3);
+      Assert.fail("Expected exception");
+    } catch (IndexOutOfBoundsException e) {
+      // Expected.
+    }
+    Assert.assertEquals(0, new RasterEncoder(0, 0, 1, 1, 0, 10, 10).encode().length);
+  }
+}
@@ -0,0 +1,119 @@
+package com.google.openlocationcode;
+
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+import com.google.openlocationcode.RegionCoverer.Covering;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests covering regions with codes. */
+@RunWith(JUnit4.class)
+public class RegionCovererTest {
+
+  private static Polygon zone() {
+    // A rough delivery zone around central Zurich.
+    return new Polygon(
+        new double[] {47.35, 47.36, 47.39, 47.40, 47.38, 47.36},
+        new double[] {8.50, 8.57, 8.56, 8.52, 8.49, 8.48});
+  }
+
+  /** Returns the cell in a sorted list of cells that contains a code, or null if there is none. */
+  private static String findCell(Covering covering, String code) {
+    for (String cell : covering.getCodes()) {
+      String prefix = cell.replace("0", "").replace("+", "");
+      if (code.replace("+", "").startsWith(prefix)) {
+        return cell;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void testCoversRegion() {
+    Polygon zone = zone();
+    Covering covering = new RegionCoverer(4, 10, 40).cover(zone);
+    Assert.assertTrue(covering.size() <= 40);
+    Random random = new Random(5);
+    for (int i = 0; i < 2000; i++) {
+      double lat = 47.34 + random.nextDouble() * 0.07;
+      double lng = 8.47 + random.nextDouble() * 0.11;
+      if (zone.contains(lat, lng)) {
+        Assert.assertNotNull(findCell(covering, OpenLocationCode.encode(lat, lng, 11)));
+      }
+    }
+  }
+
+  @Test
+  public void testInteriorCells() {
+    Polygon zone = zone();
+    Covering covering = new RegionCoverer(2, 11, 200).cover(zone);
+    Assert.assertTrue(covering.getInteriorCells().length > 0);
+    for (long cell : covering.getInteriorCells()) {
+      // Corners may touch the edges of the zone, so test points just inside them.
+      CodeArea area = PackedCode.decode(cell);
+      double latInset = area.getLatitudeHeight() / 100;
+      double lngInset = area.getLongitudeWidth() / 100;
+      Assert.assertTrue(
+          zone.contains(area.getSouthLatitude() + latInset, area.getWestLongitude() + lngInset));
+      Assert.assertTrue(
+          zone.contains(area.getNorthLatitude() - latInset, area.getEastLongitude() - lngInset));
+      Assert.assertTrue(
+          zone.contains(area.getSouthLatitude() + latInset, area.getEastLongitude() - lngInset));
+      Assert.assertTrue(
+          zone.contains(area.getNorthLatitude() - latInset, area.getWestLongitude() + lngInset));
+    }
+    for (long cell : covering.getBoundaryCells()) {
+      // Boundary cells may only touch the zone.
+      CodeArea area = PackedCode.decode(cell);
+      double latInset = area.getLatitudeHeight() / 100;
+      double lngInset = area.getLongitudeWidth() / 100;
+      Assert.assertTrue(
+          zone.intersectsRectangle(
+              area.getSouthLatitude() - latInset,
+              area.getWestLongitude() - lngInset,
+              area.getNorthLatitude() + latInset,
+              area.getEastLongitude() + lngInset));
+    }
+    // Interior cells are kept as short as possible.
+    boolean shortInterior = false;
+    for (long cell : covering.getInteriorCells()) {
+      shortInterior |= PackedCode.length(cell) < 10;
+    }
+    Assert.assertTrue(shortInterior);
+  }
+
+  @Test
+  public void testCellsDoNotOverlap() {
+    long[] cells = new RegionCoverer(2, 10, 100).cover(zone()).getCells();
+    for (int i = 1; i < cells.length; i++) {
+      String previous = PackedCode.toCode(cells[i - 1]).replace("0", "").replace("+", "");
+      String code = PackedCode.toCode(cells[i]).replace("+", "");
+      Assert.assertFalse(code.startsWith(previous));
+      Assert.assertTrue(cells[i - 1] < cells[i]);
+    }
+  }
+
+  @Test
+  public void testLengthLimits() {
+    Covering covering = new RegionCoverer(8, 8, 1).cover(zone());
+    // The minimum length needs more cells than the limit.
+    Assert.assertTrue(covering.size() > 1);
+    for (long cell : covering.getCells()) {
+      Assert.assertEquals(8, PackedCode.length(cell));
+    }
+    covering = new RegionCoverer(2, 6, 1000).cover(zone());
+    for (long cell : covering.getCells()) {
+      Assert.assertTrue(PackedCode.length(cell) <= 6);
+    }
+    try {
+      new RegionCoverer(10, 8, 10);
+      Assert.fail("Expected exception");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+}
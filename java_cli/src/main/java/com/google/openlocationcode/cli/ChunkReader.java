@@ -0,0 +1,151 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.google.openlocationcode.MappedCodeFiles;
+
+/**
+ * Splits input into chunks of whole lines, so that chunks can be processed independently.
+ *
+ * <p>Files are read with {@link MappedCodeFiles#chunks}, so chunks are slices of the mapped file
+ * and file data is not copied. Other input streams are read into fresh arrays.
+ */
+abstract class ChunkReader implements Closeable {
+
+  /**
+   * Returns the next chunk. Every chunk ends with a newline, except possibly the last one.
+   *
+   * @return The chunk, or null at the end of the input.
+   * @throws IOException if the input cannot be read or contains a line that is too long.
+   */
+  abstract ByteBuffer next() throws IOException;
+
+  /**
+   * Creates a reader for a file.
+   *
+   * @param path The file to read.
+   * @param chunkSize The approximate number of bytes in each chunk, up to {@link
+   *     MappedCodeFiles#MAX_CHUNK_SIZE}.
+   */
+  static ChunkReader open(Path path, int chunkSize) throws IOException {
+    return new MappedChunkReader(MappedCodeFiles.chunks(path, chunkSize));
+  }
+
+  /**
+   * Creates a reader for a stream.
+   *
+   * @param in The stream to read. It is not closed by the reader.
+   * @param chunkSize The approximate number of bytes in each chunk.
+   */
+  static ChunkReader of(InputStream in, int chunkSize) {
+    return new StreamChunkReader(in, chunkSize);
+  }
+
+  /** Returns the position after the last newline in a range of a buffer, or -1 if there is none. */
+  static int afterLastNewline(ByteBuffer buffer, int start, int end) {
+    for (int i = end - 1; i >= start; i--) {
+      if (buffer.get(i) == '\n') {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  /** Reads chunks from a memory mapped file. */
+  private static final class MappedChunkReader extends ChunkReader {
+
+    private final Stream<ByteBuffer> chunks;
+    private final Iterator<ByteBuffer> iterator;
+
+    MappedChunkReader(Stream<ByteBuffer> chunks) {
+      this.chunks = chunks;
+      this.iterator = chunks.iterator();
+    }
+
+    @Override
+    ByteBuffer next() throws IOException {
+      try {
+        return iterator.hasNext() ? iterator.next() : null;
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        chunks.close();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /** Reads chunks from an input stream. */
+  private static final class StreamChunkReader extends ChunkReader {
+
+    private final InputStream in;
+    private final int chunkSize;
+    // Bytes read after the last complete line of the previous chunk.
+    private byte[] carry = new byte[0];
+    private boolean eof;
+
+    StreamChunkReader(InputStream in, int chunkSize) {
+      this.in = in;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    ByteBuffer next() throws IOException {
+      byte[] buffer = Arrays.copyOf(carry, Math.max(chunkSize, carry.length * 2));
+      int length = carry.length;
+      while (true) {
+        while (!eof && length < buffer.length) {
+          int read = in.read(buffer, length, buffer.length - length);
+          if (read < 0) {
+            eof = true;
+          } else {
+            length += read;
+          }
+        }
+        if (length == 0) {
+          return null;
+        }
+        int end = eof ? length : afterLastNewline(ByteBuffer.wrap(buffer), 0, length);
+        if (end >= 0) {
+          carry = Arrays.copyOfRange(buffer, end, length);
+          return ByteBuffer.wrap(buffer, 0, end).slice();
+        }
+        // No complete line yet, read more.
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+    }
+
+    @Override
+    public void close() {
+      // The stream belongs to the caller.
+    }
+  }
+}
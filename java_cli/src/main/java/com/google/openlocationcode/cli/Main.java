@@ -0,0 +1,95 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+/**
+ * Command line tool that encodes, decodes, validates, shortens and recovers Open Location Codes in
+ * delimited text files.
+ *
+ * <p>Input is split into chunks of whole lines that are processed in parallel, and the output is
+ * written in input order. Run with no arguments for usage.
+ */
+public final class Main {
+
+  /** Exit status when all rows were processed. */
+  public static final int EXIT_OK = 0;
+
+  /** Exit status when some rows could not be processed. */
+  public static final int EXIT_ROW_ERRORS = 1;
+
+  /** Exit status when the command line is not valid or the input cannot be read. */
+  public static final int EXIT_FAILURE = 2;
+
+  private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+  private Main() {}
+
+  public static void main(String[] args) {
+    System.exit(run(args, System.in, System.out, System.err));
+  }
+
+  /**
+   * Runs the tool.
+   *
+   * @param args The command line arguments.
+   * @param in Input read when no files are given.
+   * @param out Output for the processed rows.
+   * @param err Output for usage and error messages.
+   * @return The exit status.
+   */
+  public static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+    Options options;
+    try {
+      options = Options.parse(args);
+    } catch (IllegalArgumentException e) {
+      err.println(e.getMessage());
+      err.println();
+      err.print(Options.USAGE);
+      return EXIT_FAILURE;
+    }
+    long errors = 0;
+    OutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
+    try (Pipeline pipeline = new Pipeline(options)) {
+      if (options.files.isEmpty()) {
+        errors += pipeline.run(ChunkReader.of(in, options.chunkSize), buffered);
+      }
+      for (Path file : options.files) {
+        try (ChunkReader reader = ChunkReader.open(file, options.chunkSize)) {
+          errors += pipeline.run(reader, buffered);
+        }
+      }
+      buffered.flush();
+    } catch (IOException e) {
+      err.println("Error: " + e);
+      return EXIT_FAILURE;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      err.println("Interrupted.");
+      return EXIT_FAILURE;
+    }
+    if (errors > 0) {
+      err.println(errors + " rows could not be processed.");
+      return EXIT_ROW_ERRORS;
+    }
+    return EXIT_OK;
+  }
+}
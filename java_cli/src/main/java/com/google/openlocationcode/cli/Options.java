@@ -0,0 +1,172 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode.cli;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.openlocationcode.CoordinateFormatter;
+import com.google.openlocationcode.MappedCodeFiles;
+import com.google.openlocationcode.OpenLocationCode;
+
+/** Command line options. */
+final class Options {
+
+  /** The operation applied to each row. */
+  enum Command {
+    ENCODE("Encodes the latitude and longitude columns into a code.", 2),
+    DECODE("Decodes the code column into its center latitude and longitude.", 1),
+    VALIDATE("Writes whether the code column is valid, short and full.", 1),
+    SHORTEN("Shortens the code column, using the reference latitude and longitude after it.", 3),
+    RECOVER(
+        "Recovers the short code column, using the reference latitude and longitude after it.", 3);
+
+    final String description;
+    final int inputColumns;
+
+    Command(String description, int inputColumns) {
+      this.description = description;
+      this.inputColumns = inputColumns;
+    }
+  }
+
+  static final String USAGE;
+
+  static {
+    StringBuilder usage = new StringBuilder("Usage: olc <command> [options] [file ...]\n\n");
+    usage.append(
+        "Reads delimited rows from the files, or standard input, and writes each row to\n");
+    usage.append("standard output with the result columns appended. Empty lines and lines\n");
+    usage.append("starting with # are copied unchanged.\n\nCommands:\n");
+    for (Command command : Command.values()) {
+      usage.append(
+          String.format(
+              "  %-10s%s%n", command.name().toLowerCase(Locale.ROOT), command.description));
+    }
+    usage.append("\nOptions:\n");
+    usage.append("  --column N       Column holding the code or latitude, from 1 (default 1).\n");
+    usage.append("  --delimiter C    Field delimiter (default ,).\n");
+    usage.append("  --tsv            Use tab as the field delimiter.\n");
+    usage.append("  --length N       Code length for encode (default 10).\n");
+    usage.append("  --digits N       Decimal places for decode (default 8).\n");
+    usage.append("  --bounds         Decode to south, west, north and east edges.\n");
+    usage.append("  --threads N      Number of worker threads (default: number of processors).\n");
+    usage.append("  --chunk-size N   Bytes processed per task (default 1048576).\n");
+    USAGE = usage.toString();
+  }
+
+  Command command;
+  int column;
+  byte delimiter = ',';
+  int codeLength = OpenLocationCode.CODE_PRECISION_NORMAL;
+  int digits = 8;
+  boolean bounds;
+  int threads = Runtime.getRuntime().availableProcessors();
+  int chunkSize = 1 << 20;
+  final List<Path> files = new ArrayList<>();
+
+  /**
+   * Parses the command line.
+   *
+   * @throws IllegalArgumentException if the command line is not valid.
+   */
+  static Options parse(String[] args) {
+    if (args.length == 0) {
+      throw new IllegalArgumentException("No command given.");
+    }
+    Options options = new Options();
+    try {
+      options.command = Command.valueOf(args[0].toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown command '" + args[0] + "'.", e);
+    }
+    for (int i = 1; i < args.length; i++) {
+      String arg = args[i];
+      if (!arg.startsWith("--")) {
+        options.files.add(Paths.get(arg));
+        continue;
+      }
+      if ("--tsv".equals(arg)) {
+        options.delimiter = '\t';
+        continue;
+      }
+      if ("--bounds".equals(arg)) {
+        options.bounds = true;
+        continue;
+      }
+      if (i + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value for " + arg + ".");
+      }
+      String value = args[++i];
+      switch (arg) {
+        case "--column":
+          options.column = parseInt(arg, value, 1, Integer.MAX_VALUE) - 1;
+          break;
+        case "--delimiter":
+          if (value.length() != 1 || value.charAt(0) > 0x7f) {
+            throw new IllegalArgumentException("The delimiter must be a single ASCII character.");
+          }
+          options.delimiter = (byte) value.charAt(0);
+          break;
+        case "--length":
+          options.codeLength = parseInt(arg, value, 2, OpenLocationCode.MAX_DIGIT_COUNT);
+          break;
+        case "--digits":
+          options.digits = parseInt(arg, value, 0, CoordinateFormatter.MAX_FRACTION_DIGITS);
+          break;
+        case "--threads":
+          options.threads = parseInt(arg, value, 1, 1024);
+          break;
+        case "--chunk-size":
+          options.chunkSize = parseInt(arg, value, 1, MappedCodeFiles.MAX_CHUNK_SIZE);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + arg + ".");
+      }
+    }
+    // Check the code length now rather than failing on every row.
+    OpenLocationCode.encode(0, 0, options.codeLength);
+    return options;
+  }
+
+  /** Returns the number of result columns appended to each row. */
+  int outputColumns() {
+    switch (command) {
+      case DECODE:
+        return bounds ? 4 : 2;
+      case VALIDATE:
+        return 3;
+      default:
+        return 1;
+    }
+  }
+
+  private static int parseInt(String option, String value, int min, int max) {
+    int result;
+    try {
+      result = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      result = min - 1;
+    }
+    if (result < min || result > max) {
+      throw new IllegalArgumentException(
+          "The value of " + option + " must be a number from " + min + " to " + max + ".");
+    }
+    return result;
+  }
+}
@@ -0,0 +1,96 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.openlocationcode.cli.RowProcessor.Result;
+
+/**
+ * Processes chunks on a pool of worker threads and writes their output in input order.
+ *
+ * <p>The number of chunks in flight is bounded, so memory use does not depend on the input size.
+ */
+final class Pipeline implements AutoCloseable {
+
+  // Number of chunks in flight per worker thread.
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final ExecutorService workers;
+  private final ThreadLocal<RowProcessor> processors;
+  private final ArrayDeque<Future<Result>> pending = new ArrayDeque<>();
+  private final int maxPending;
+
+  Pipeline(Options options) {
+    this.workers =
+        Executors.newFixedThreadPool(
+            options.threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "olc-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.processors = ThreadLocal.withInitial(() -> new RowProcessor(options));
+    this.maxPending = options.threads * CHUNKS_PER_THREAD;
+  }
+
+  /**
+   * Processes all chunks from a reader and writes the output.
+   *
+   * @return The number of rows that could not be processed.
+   */
+  long run(ChunkReader reader, OutputStream out) throws IOException, InterruptedException {
+    long errors = 0;
+    ByteBuffer chunk;
+    while ((chunk = reader.next()) != null) {
+      ByteBuffer input = chunk;
+      pending.add(workers.submit(() -> processors.get().process(input)));
+      if (pending.size() >= maxPending) {
+        errors += writeNext(out);
+      }
+    }
+    while (!pending.isEmpty()) {
+      errors += writeNext(out);
+    }
+    return errors;
+  }
+
+  @Override
+  public void close() {
+    workers.shutdownNow();
+  }
+
+  private long writeNext(OutputStream out) throws IOException, InterruptedException {
+    Result result;
+    try {
+      result = pending.remove().get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+    ByteBuffer output = result.output;
+    out.write(output.array(), output.arrayOffset(), output.limit());
+    return result.errors;
+  }
+}
@@ -0,0 +1,213 @@
+// Copyright 2026 Google Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.openlocationcode.cli;
+
+import java.nio.ByteBuffer;
+
+import com.google.openlocationcode.AsciiView;
+import com.google.openlocationcode.CoordinateFormatter;
+import com.google.openlocationcode.CoordinateParser;
+import com.google.openlocationcode.OpenLocationCode;
+import com.google.openlocationcode.PackedCode;
+
+/**
+ * Applies a command to the rows of a chunk. Each worker thread uses its own processor, since the
+ * processor reuses its views and formatter between rows.
+ */
+final class RowProcessor {
+
+  /** The output of a chunk. */
+  static final class Result {
+    final ByteBuffer output;
+    final long errors;
+
+    Result(ByteBuffer output, long errors) {
+      this.output = output;
+      this.errors = errors;
+    }
+  }
+
+  // Space reserved for the result columns of a row.
+  private static final int MAX_RESULT_BYTES = 4 * (CoordinateFormatter.MAX_VALUE_LENGTH + 1) + 32;
+
+  private final Options options;
+  private final CoordinateFormatter formatter;
+  private final AsciiView[] fields;
+  private ByteBuffer out;
+
+  RowProcessor(Options options) {
+    this.options = options;
+    this.formatter = new CoordinateFormatter(options.digits, (char) options.delimiter);
+    this.fields = new AsciiView[options.command.inputColumns];
+    for (int i = 0; i < fields.length; i++) {
+      fields[i] = new AsciiView();
+    }
+  }
+
+  /** Processes the lines of a chunk. */
+  Result process(ByteBuffer chunk) {
+    out = ByteBuffer.allocate(chunk.remaining() + chunk.remaining() / 2 + MAX_RESULT_BYTES);
+    long errors = 0;
+    int start = 0;
+    int limit = chunk.limit();
+    while (start < limit) {
+      int end = start;
+      while (end < limit && chunk.get(end) != '\n') {
+        end++;
+      }
+      int next = end + 1;
+      if (end > start && chunk.get(end - 1) == '\r') {
+        end--;
+      }
+      ensureCapacity(end - start + MAX_RESULT_BYTES);
+      for (int i = start; i < end; i++) {
+        out.put(chunk.get(i));
+      }
+      if (end > start && chunk.get(start) != '#') {
+        out.put(options.delimiter);
+        if (!processRow(chunk, start, end)) {
+          errors++;
+          // Leave the result columns empty.
+          for (int i = 1; i < options.outputColumns(); i++) {
+            out.put(options.delimiter);
+          }
+        }
+      }
+      out.put((byte) '\n');
+      start = next;
+    }
+    out.flip();
+    return new Result(out, errors);
+  }
+
+  /**
+   * Writes the result columns for a row.
+   *
+   * @return False if the row could not be processed, in which case nothing was written.
+   */
+  private boolean processRow(ByteBuffer chunk, int start, int end) {
+    if (!splitFields(chunk, start, end)) {
+      return false;
+    }
+    try {
+      switch (options.command) {
+        case ENCODE:
+          putAscii(CoordinateParser.encode(fields[0], fields[1], options.codeLength));
+          return true;
+        case DECODE:
+          return decode();
+        case VALIDATE:
+          validate();
+          return true;
+        case SHORTEN:
+          return shorten();
+        case RECOVER:
+          return recover();
+      }
+    } catch (IllegalArgumentException e) {
+      // Includes NumberFormatException.
+      return false;
+    }
+    return false;
+  }
+
+  private boolean decode() {
+    long packed = PackedCode.tryPack(fields[0], 0, fields[0].length());
+    if (packed == PackedCode.NO_CODE) {
+      return false;
+    }
+    if (options.bounds) {
+      formatter.formatBounds(packed, out);
+    } else {
+      formatter.formatCenter(packed, out);
+    }
+    return true;
+  }
+
+  private void validate() {
+    String code = fields[0].toString();
+    boolean valid = OpenLocationCode.isValidCode(code);
+    boolean full = valid && PackedCode.tryPack(code, 0, code.length()) != PackedCode.NO_CODE;
+    putAscii(Boolean.toString(valid));
+    out.put(options.delimiter);
+    putAscii(Boolean.toString(valid && !full));
+    out.put(options.delimiter);
+    putAscii(Boolean.toString(full));
+  }
+
+  private boolean shorten() {
+    String code = fields[0].toString();
+    if (!OpenLocationCode.isFullCode(code)) {
+      return false;
+    }
+    double latitude = Double.parseDouble(fields[1].toString());
+    double longitude = Double.parseDouble(fields[2].toString());
+    OpenLocationCode olc = new OpenLocationCode(code);
+    try {
+      putAscii(olc.shorten(latitude, longitude).getCode());
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      // The code is padded or too far from the reference location, keep it as it is.
+      putAscii(olc.getCode());
+    }
+    return true;
+  }
+
+  private boolean recover() {
+    String code = fields[0].toString();
+    if (!OpenLocationCode.isValidCode(code)) {
+      return false;
+    }
+    double latitude = Double.parseDouble(fields[1].toString());
+    double longitude = Double.parseDouble(fields[2].toString());
+    putAscii(new OpenLocationCode(code).recover(latitude, longitude).getCode());
+    return true;
+  }
+
+  /** Points the field views at the input columns of a row. */
+  private boolean splitFields(ByteBuffer chunk, int start, int end) {
+    int column = 0;
+    int fieldStart = start;
+    for (int i = start; i <= end; i++) {
+      if (i < end && chunk.get(i) != options.delimiter) {
+        continue;
+      }
+      int field = column - options.column;
+      if (field >= 0) {
+        fields[field].set(chunk, fieldStart, i);
+        if (field == fields.length - 1) {
+          return true;
+        }
+      }
+      column++;
+      fieldStart = i + 1;
+    }
+    return false;
+  }
+
+  private void putAscii(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      out.put((byte) value.charAt(i));
+    }
+  }
+
+  private void ensureCapacity(int bytes) {
+    if (out.remaining() < bytes) {
+      ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+      out.flip();
+      larger.put(out);
+      out = larger;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package com.google.openlocationcode.cli;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import com.google.openlocationcode.OpenLocationCode;
+import com.google.openlocationcode.OpenLocationCode.CodeArea;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the command line tool against the library. */
+@RunWith(JUnit4.class)
+public class MainTest {
+
+  private static final double EPSILON = 1e-8;
+
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+  private int status;
+
+  private String run(String input, String... args) {
+    return run(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), args);
+  }
+
+  private String run(InputStream in, String... args) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    status = Main.run(args, in, out, new PrintStream(err));
+    return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+  }
+
+  private static String randomCoordinates(Random random, int rows) {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < rows; i++) {
+      input.append(random.nextDouble() * 180 - 90).append(',');
+      input.append(random.nextDouble() * 360 - 180).append('\n');
+    }
+    return input.toString();
+  }
+
+  @Test
+  public void testEncodeMatchesLibrary() {
+    String input = randomCoordinates(new Random(1), 2000);
+    String[] output =
+        run(input, "encode", "--length", "11", "--threads", "4", "--chunk-size", "64").split("\n");
+    String[] rows = input.split("\n");
+    Assert.assertEquals(Main.EXIT_OK, status);
+    Assert.assertEquals(rows.length, output.length);
+    for (int i = 0; i < rows.length; i++) {
+      String[] fields = rows[i].split(",");
+      String expected =
+          OpenLocationCode.encode(Double.parseDouble(fields[0]), Double.parseDouble(fields[1]), 11);
+      Assert.assertEquals(rows[i] + "," + expected, output[i]);
+    }
+  }
+
+  @Test
+  public void testDecodeFile() throws IOException {
+    String input = randomCoordinates(new Random(2), 500);
+    String codes = run(input, "encode", "--length", "12", "--column", "1");
+    Path file = Files.createTempFile("olc", ".csv");
+    try {
+      Files.write(file, codes.getBytes(StandardCharsets.US_ASCII));
+      String[] output =
+          run(
+                  new ByteArrayInputStream(new byte[0]),
+                  "decode",
+                  "--column",
+                  "3",
+                  "--bounds",
+                  "--chunk-size",
+                  "100",
+                  file.toString())
+              .split("\n");
+      Assert.assertEquals(Main.EXIT_OK, status);
+      Assert.assertEquals(500, output.length);
+      for (String row : output) {
+        String[] fields = row.split(",");
+        Assert.assertEquals(7, fields.length);
+        CodeArea area = OpenLocationCode.decode(fields[2]);
+        Assert.assertEquals(area.getSouthLatitude(), Double.parseDouble(fields[3]), EPSILON);
+        Assert.assertEquals(area.getWestLongitude(), Double.parseDouble(fields[4]), EPSILON);
+        Assert.assertEquals(area.getNorthLatitude(), Double.parseDouble(fields[5]), EPSILON);
+        Assert.assertEquals(area.getEastLongitude(), Double.parseDouble(fields[6]), EPSILON);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testDecodeCenter() {
+    String output = run("8FVC9G8F+6W\n", "decode", "--digits", "6");
+    // The exact center is 47.3655625, 8.5248125, which rounds away from zero.
+    Assert.assertEquals("8FVC9G8F+6W,47.365563,8.524813\n", output);
+  }
+
+  @Test
+  public void testTabSeparatedWithCommentsAndCarriageReturns() {
+    String output =
+        run("# header\r\n\r\nid\t47.365590\t8.524997\r\n", "encode", "--tsv", "--column", "2");
+    Assert.assertEquals(Main.EXIT_OK, status);
+    Assert.assertEquals("# header\n\nid\t47.365590\t8.524997\t8FVC9G8F+6X\n", output);
+  }
+
+  @Test
+  public void testValidate() {
+    String output = run("8FVC9G8F+6W\n9G8F+6W\n8FVC9G8F+6\nCFX30000+\n", "validate");
+    Assert.assertEquals(
+        "8FVC9G8F+6W,true,false,true\n"
+            + "9G8F+6W,true,true,false\n"
+            + "8FVC9G8F+6,false,false,false\n"
+            + "CFX30000+,true,false,true\n",
+        output);
+  }
+
+  @Test
+  public void testShortenAndRecover() {
+    String shortened = run("8FVC9G8F+6W,47.4,8.6\n", "shorten");
+    Assert.assertEquals("8FVC9G8F+6W,47.4,8.6,9G8F+6W\n", shortened);
+    String recovered = run("9G8F+6W,47.4,8.6\n", "recover");
+    Assert.assertEquals("9G8F+6W,47.4,8.6,8FVC9G8F+6W\n", recovered);
+  }
+
+  @Test
+  public void testRowErrors() {
+    String output = run("1,2\nabc,2\n3\n", "encode");
+    Assert.assertEquals(Main.EXIT_ROW_ERRORS, status);
+    Assert.assertEquals("1,2," + OpenLocationCode.encode(1, 2) + "\nabc,2,\n3,\n", output);
+    output = run("XYZ\n", "decode", "--bounds");
+    Assert.assertEquals("XYZ,,,,\n", output);
+  }
+
+  @Test
+  public void testLastLineWithoutNewline() {
+    Assert.assertEquals("1,2," + OpenLocationCode.encode(1, 2) + "\n", run("1,2", "encode"));
+  }
+
+  @Test
+  public void testUsageErrors() {
+    run("", "transmogrify");
+    Assert.assertEquals(Main.EXIT_FAILURE, status);
+    run("", "encode", "--length", "7");
+    Assert.assertEquals(Main.EXIT_FAILURE, status);
+    run("", "encode", "--threads");
+    Assert.assertEquals(Main.EXIT_FAILURE, status);
+    run("");
+    Assert.assertEquals(Main.EXIT_FAILURE, status);
+    Assert.assertTrue(new String(err.toByteArray(), StandardCharsets.US_ASCII).contains("Usage"));
+  }
+}